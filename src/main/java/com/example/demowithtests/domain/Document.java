@@ -1,8 +1,12 @@
 package com.example.demowithtests.domain;
 
+import com.example.demowithtests.util.config.SecondLevelCacheConfig;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -13,11 +17,15 @@ import java.util.UUID;
 @NoArgsConstructor
 @Builder
 @Entity
+@BatchSize(size = 50)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.DOCUMENTS)
 @Table(name = "documents")
 public final class Document {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documents_seq")
+    @SequenceGenerator(name = "documents_seq", sequenceName = "documents_seq", allocationSize = 50)
     private Integer id;
 
     @Column(unique = true, nullable = false)
@@ -35,6 +43,10 @@ public final class Document {
     @OneToOne(mappedBy = "document")
     private Employee employee;
 
+    /**
+     * Unbounded, only used to write history together with a new document. Read it in pages through
+     * {@code GET /api/documents/{id}/history}.
+     */
     @JsonIgnore
     @OneToMany(targetEntity = History.class, mappedBy = "document")
     private List<History> history;
@@ -0,0 +1,30 @@
+package com.example.demowithtests.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "email_campaigns")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+public class EmailCampaign {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_campaigns_seq")
+    @SequenceGenerator(name = "email_campaigns_seq", sequenceName = "email_campaigns_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "recipients", nullable = false)
+    private Integer recipients;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
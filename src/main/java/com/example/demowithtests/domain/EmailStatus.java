@@ -0,0 +1,5 @@
+package com.example.demowithtests.domain;
+
+public enum EmailStatus {
+    PENDING, SENT, DEAD;
+}
@@ -1,14 +1,22 @@
 package com.example.demowithtests.domain;
 
+import com.example.demowithtests.util.annotations.entity.EntityFormatting;
 import com.example.demowithtests.util.annotations.entity.Name;
 import com.example.demowithtests.util.annotations.entity.ToLowerCase;
+import com.example.demowithtests.util.config.SecondLevelCacheConfig;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.EMPLOYEES)
 @Table(name = "users")
 @AllArgsConstructor
 @NoArgsConstructor
@@ -18,7 +26,8 @@ import java.util.Set;
 public final class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Integer id;
 
     @Name
@@ -29,7 +38,12 @@ public final class Employee {
     @ToLowerCase
     private String email;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    /**
+     * Loaded on first access, for up to 50 employees of the persistence context in one select.
+     */
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.EMPLOYEE_ADDRESSES)
     @JoinColumn(name = "employee_id")
     @OrderBy("id desc, country asc")
     private Set<Address> addresses = new HashSet<>();
@@ -42,4 +56,17 @@ public final class Employee {
     private Document document;
 
     private Boolean isDeleted;
+
+    /**
+     * Reversed lower-case name for index range scans on name suffixes, see V17.
+     */
+    @JsonIgnore
+    @Column(name = "name_reversed")
+    private String nameReversed;
+
+    @PrePersist
+    @PreUpdate
+    private void updateNameReversed() {
+        nameReversed = EntityFormatting.toReversedKey(name);
+    }
 }
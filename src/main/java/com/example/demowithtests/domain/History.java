@@ -15,13 +15,17 @@ import java.time.LocalDateTime;
 @Builder
 public class History {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "history_seq")
+    @SequenceGenerator(name = "history_seq", sequenceName = "history_seq", allocationSize = 50)
     private int id;
 
     @Column(name = "description")
     private String description;
 
-    @Column(name = "date_and_time")
+    /**
+     * Partition key of the history table, see {@code V20__history_partitioning.sql}.
+     */
+    @Column(name = "date_and_time", nullable = false)
     private LocalDateTime dateAndTime;
 
     @ManyToOne(targetEntity = Document.class)
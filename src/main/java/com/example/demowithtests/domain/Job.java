@@ -0,0 +1,71 @@
+package com.example.demowithtests.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted state of a job, see {@code V21__jobs.sql}.
+ */
+@Entity
+@Table(name = "jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+public class Job {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jobs_seq")
+    @SequenceGenerator(name = "jobs_seq", sequenceName = "jobs_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 32)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private JobStatus status;
+
+    /**
+     * JSON of the parameters the job was started with.
+     */
+    @Column(name = "parameters", nullable = false, length = 4000)
+    private String parameters;
+
+    @Column(name = "total_units", nullable = false)
+    private long totalUnits;
+
+    @Column(name = "done_units", nullable = false)
+    private long doneUnits;
+
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    /**
+     * JSON of the value the job returned.
+     */
+    @Column(name = "result", length = 4000)
+    private String result;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
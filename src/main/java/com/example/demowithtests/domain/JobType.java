@@ -0,0 +1,22 @@
+package com.example.demowithtests.domain;
+
+/**
+ * Kinds of jobs. A restartable job is idempotent, so a run cut short by a restart is simply started again;
+ * any other job is marked failed instead of being repeated.
+ */
+public enum JobType {
+    FILL(false),
+    REMOVE_ALL(true),
+    RENAME_ALL(true),
+    UKRAINIANS_MAIL(false);
+
+    private final boolean restartable;
+
+    JobType(boolean restartable) {
+        this.restartable = restartable;
+    }
+
+    public boolean isRestartable() {
+        return restartable;
+    }
+}
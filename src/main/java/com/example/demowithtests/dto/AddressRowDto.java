@@ -0,0 +1,8 @@
+package com.example.demowithtests.dto;
+
+/**
+ * Columns of an address together with the id of its employee.
+ */
+public record AddressRowDto(Integer employeeId, Long id, Boolean addressHasActive, String country, String city,
+                            String street) {
+}
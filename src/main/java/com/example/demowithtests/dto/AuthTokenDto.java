@@ -0,0 +1,9 @@
+package com.example.demowithtests.dto;
+
+/**
+ * @param token     value for the {@code Authorization: Bearer} header
+ * @param tokenType always Bearer
+ * @param expiresIn lifetime in seconds
+ */
+public record AuthTokenDto(String token, String tokenType, long expiresIn) {
+}
@@ -0,0 +1,16 @@
+package com.example.demowithtests.dto;
+
+import com.example.demowithtests.service.count.CountStrategy;
+import org.springframework.data.domain.Page;
+
+import java.util.function.Function;
+
+/**
+ * A page together with the strategy its total was counted with.
+ */
+public record CountedPageDto<T>(Page<T> page, CountStrategy countStrategy) {
+
+    public <R> CountedPageDto<R> map(Function<? super T, ? extends R> mapper) {
+        return new CountedPageDto<>(page.map(mapper), countStrategy);
+    }
+}
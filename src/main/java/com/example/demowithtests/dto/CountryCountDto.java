@@ -0,0 +1,8 @@
+package com.example.demowithtests.dto;
+
+/**
+ * @param country   country of the employees
+ * @param employees number of employees from the country
+ */
+public record CountryCountDto(String country, long employees) {
+}
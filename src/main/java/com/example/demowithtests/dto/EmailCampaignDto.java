@@ -0,0 +1,11 @@
+package com.example.demowithtests.dto;
+
+/**
+ * @param id         campaign id, poll {@code GET /api/campaigns/{id}} for the delivery state
+ * @param recipients messages written to the outbox
+ * @param pending    messages waiting for the first delivery or for a retry
+ * @param sent       messages accepted by the SMTP server
+ * @param dead       messages given up on after the last retry
+ */
+public record EmailCampaignDto(Long id, String name, int recipients, long pending, long sent, long dead) {
+}
@@ -0,0 +1,9 @@
+package com.example.demowithtests.dto;
+
+/**
+ * A message to put into the outbox.
+ *
+ * @param employeeId employee the message is about, may be null
+ */
+public record EmailMessageDto(Integer employeeId, String recipient, String subject, String body) {
+}
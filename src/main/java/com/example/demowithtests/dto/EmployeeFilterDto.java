@@ -0,0 +1,12 @@
+package com.example.demowithtests.dto;
+
+/**
+ * Optional filters of bulk operations, a null field does not restrict the result.
+ *
+ * @param country exact country of the employee
+ * @param deleted value of the soft delete flag
+ * @param fromId  lowest id, inclusive
+ * @param toId    highest id, inclusive
+ */
+public record EmployeeFilterDto(String country, Boolean deleted, Integer fromId, Integer toId) {
+}
@@ -0,0 +1,7 @@
+package com.example.demowithtests.dto;
+
+/**
+ * Id and name of an employee, the payload of the name autocomplete.
+ */
+public record EmployeeNameDto(Integer id, String name) {
+}
@@ -0,0 +1,10 @@
+package com.example.demowithtests.dto;
+
+import com.example.demowithtests.domain.Gender;
+
+/**
+ * Scalar columns of an employee, selected by the list queries instead of the entity.
+ * Addresses are fetched separately as {@link AddressRowDto} for all rows at once.
+ */
+public record EmployeeRowDto(Integer id, String name, String country, String email, Gender gender) {
+}
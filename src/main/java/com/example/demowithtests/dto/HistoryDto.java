@@ -0,0 +1,6 @@
+package com.example.demowithtests.dto;
+
+import java.time.LocalDateTime;
+
+public record HistoryDto(Integer id, String description, LocalDateTime dateAndTime) {
+}
@@ -0,0 +1,4 @@
+package com.example.demowithtests.dto;
+
+public record ImportErrorDto(long line, String message) {
+}
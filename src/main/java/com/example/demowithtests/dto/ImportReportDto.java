@@ -0,0 +1,13 @@
+package com.example.demowithtests.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first errors are listed, {@code errorsTruncated} tells whether more were dropped.
+ */
+public record ImportReportDto(long lines,
+                             long imported,
+                             long rejected,
+                             List<ImportErrorDto> errors,
+                             boolean errorsTruncated) {
+}
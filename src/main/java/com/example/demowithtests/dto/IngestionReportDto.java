@@ -0,0 +1,11 @@
+package com.example.demowithtests.dto;
+
+public record IngestionReportDto(String mode,
+                                 long employees,
+                                 long addresses,
+                                 long documents,
+                                 long history,
+                                 long durationMillis,
+                                 double rowsPerSecond,
+                                 long heapHighWaterMarkBytes) {
+}
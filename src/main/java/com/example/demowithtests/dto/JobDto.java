@@ -0,0 +1,59 @@
+package com.example.demowithtests.dto;
+
+import com.example.demowithtests.domain.Job;
+import com.example.demowithtests.domain.JobStatus;
+import com.example.demowithtests.domain.JobType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * @param id              job id, poll {@code GET /api/jobs/{id}} for the state
+ * @param progressPercent share of the work units done, null while the total is unknown
+ * @param processedRows   rows written so far
+ * @param rowsPerSecond   average write rate since the start
+ * @param etaSeconds      estimated time left, null when it cannot be estimated yet
+ * @param result          value returned by a succeeded job
+ */
+public record JobDto(Long id,
+                     JobType type,
+                     JobStatus status,
+                     boolean cancelRequested,
+                     Double progressPercent,
+                     long processedRows,
+                     Double rowsPerSecond,
+                     Long etaSeconds,
+                     JsonNode result,
+                     String error,
+                     LocalDateTime createdAt,
+                     LocalDateTime startedAt,
+                     LocalDateTime finishedAt) {
+
+    /**
+     * @param now time the rate and the estimate of a running job are computed for
+     */
+    public static JobDto of(Job job, JsonNode result, LocalDateTime now) {
+        Double percent = null;
+        if (job.getStatus() == JobStatus.SUCCEEDED) {
+            percent = 100.0;
+        } else if (job.getTotalUnits() > 0) {
+            percent = Math.min(100.0, job.getDoneUnits() * 100.0 / job.getTotalUnits());
+        }
+
+        Double rowsPerSecond = null;
+        Long etaSeconds = null;
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : now;
+            long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+            rowsPerSecond = job.getProcessedRows() * 1000.0 / millis;
+            if (job.getStatus() == JobStatus.RUNNING && job.getDoneUnits() > 0
+                    && job.getTotalUnits() > job.getDoneUnits()) {
+                etaSeconds = Math.round(millis / 1000.0 * (job.getTotalUnits() - job.getDoneUnits()) / job.getDoneUnits());
+            }
+        }
+        return new JobDto(job.getId(), job.getType(), job.getStatus(), job.isCancelRequested(), percent,
+                job.getProcessedRows(), rowsPerSecond, etaSeconds, result, job.getError(),
+                job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demowithtests.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of keyset paging. There is deliberately no total, so no count query is ever run.
+ *
+ * @param content   rows of the page
+ * @param size      requested page size
+ * @param hasNext   whether another page follows
+ * @param nextToken opaque token for the next page, null on the last page
+ */
+public record KeysetSliceDto<T>(List<T> content, int size, boolean hasNext, String nextToken) {
+
+    public <R> KeysetSliceDto<R> map(Function<? super T, ? extends R> mapper) {
+        return new KeysetSliceDto<>(content.stream().<R>map(mapper).toList(), size, hasNext, nextToken);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.demowithtests.dto;
+
+/**
+ * @param score trigram similarity between the query and the best matching field, from 0 to 1
+ */
+public record SearchHitDto(Integer id, String name, String country, String email, double score) {
+}
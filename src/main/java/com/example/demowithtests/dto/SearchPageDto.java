@@ -0,0 +1,18 @@
+package com.example.demowithtests.dto;
+
+import java.util.List;
+
+/**
+ * One page of ranked search hits. Like keyset paging, there is no total, the next page is known to exist
+ * from one extra row.
+ *
+ * @param hits       hits of the page, best first
+ * @param page       page number
+ * @param size       requested page size
+ * @param hasNext    whether another page follows
+ * @param engine     "pg_trgm" on PostgreSQL, "scan" for the in-memory fallback
+ * @param tookMillis time spent in the search
+ */
+public record SearchPageDto(List<SearchHitDto> hits, int page, int size, boolean hasNext, String engine,
+                            long tookMillis) {
+}
@@ -0,0 +1,10 @@
+package com.example.demowithtests.dto;
+
+import com.example.demowithtests.service.count.CountStrategy;
+
+/**
+ * @param total    number of matching rows, exact or estimated
+ * @param strategy strategy that actually produced the total
+ */
+public record TotalCountDto(long total, CountStrategy strategy) {
+}
@@ -0,0 +1,9 @@
+package com.example.demowithtests.repository;
+
+import com.example.demowithtests.domain.EmailCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmailCampaignRepository extends JpaRepository<EmailCampaign, Long> {
+}
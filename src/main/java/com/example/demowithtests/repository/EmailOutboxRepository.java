@@ -0,0 +1,34 @@
+package com.example.demowithtests.repository;
+
+import com.example.demowithtests.domain.EmailOutbox;
+import com.example.demowithtests.domain.EmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Locks a batch of due messages for the current transaction. A lock timeout of -2 renders
+     * {@code for update skip locked} on PostgreSQL, so concurrent workers claim disjoint batches without waiting.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from EmailOutbox o where o.status = :status and o.nextAttemptAt <= :now " +
+            "order by o.nextAttemptAt, o.id")
+    List<EmailOutbox> claimDue(@Param("status") EmailStatus status,
+                               @Param("now") LocalDateTime now,
+                               Pageable pageable);
+
+    long countByCampaignIdAndStatus(Long campaignId, EmailStatus status);
+}
@@ -0,0 +1,54 @@
+package com.example.demowithtests.repository;
+
+import com.example.demowithtests.domain.Employee;
+
+import java.util.List;
+
+/**
+ * Seek (keyset) paging: a page starts right after the {@code (sort key, id)} of the last row of the previous page,
+ * so any page costs one index range scan no matter how deep it is.
+ */
+public interface EmployeeKeysetRepository {
+
+    /**
+     * @param country    substring of the country, no filter when null or blank
+     * @param sortKey    column the rows are ordered by, ties are broken by id
+     * @param descending sort direction of both the column and the id
+     * @param lastKey    sort key of the last row already returned, null for the first page
+     * @param lastId     id of the last row already returned, null for the first page
+     * @param limit      maximum number of rows
+     */
+    List<Employee> findPageAfter(String country, SortKey sortKey, boolean descending,
+                                 String lastKey, Integer lastId, int limit);
+
+    /**
+     * Columns allowed as a keyset sort key. Text columns are compared as {@code coalesce(column, '')},
+     * so employees with an empty column are not skipped; V14 indexes exactly these expressions.
+     */
+    enum SortKey {
+        ID("id"),
+        NAME("coalesce(name, '')"),
+        COUNTRY("coalesce(country, '')"),
+        EMAIL("coalesce(email, '')");
+
+        private final String expression;
+
+        SortKey(String expression) {
+            this.expression = expression;
+        }
+
+        public String expression() {
+            return expression;
+        }
+
+        public String valueOf(Employee employee) {
+            String value = switch (this) {
+                case ID -> String.valueOf(employee.getId());
+                case NAME -> employee.getName();
+                case COUNTRY -> employee.getCountry();
+                case EMAIL -> employee.getEmail();
+            };
+            return value == null ? "" : value;
+        }
+    }
+}
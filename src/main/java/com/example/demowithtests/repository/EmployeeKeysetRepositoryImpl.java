@@ -0,0 +1,53 @@
+package com.example.demowithtests.repository;
+
+import com.example.demowithtests.domain.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.List;
+
+public class EmployeeKeysetRepositoryImpl implements EmployeeKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Employee> findPageAfter(String country, SortKey sortKey, boolean descending,
+                                        String lastKey, Integer lastId, int limit) {
+        boolean filterByCountry = country != null && !country.isBlank();
+        boolean seek = lastId != null;
+        String direction = descending ? "DESC" : "ASC";
+        String comparison = descending ? "<" : ">";
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM users WHERE 1 = 1");
+        if (filterByCountry) {
+            sql.append(" AND country LIKE :country");
+        }
+        if (seek && sortKey == SortKey.ID) {
+            sql.append(" AND id ").append(comparison).append(" :lastId");
+        } else if (seek) {
+            // row value comparison, so the (expression, id) index is used as one range scan
+            sql.append(" AND (").append(sortKey.expression()).append(", id) ")
+                    .append(comparison).append(" (:lastKey, :lastId)");
+        }
+        sql.append(" ORDER BY ");
+        if (sortKey != SortKey.ID) {
+            sql.append(sortKey.expression()).append(' ').append(direction).append(", ");
+        }
+        sql.append("id ").append(direction);
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Employee.class);
+        if (filterByCountry) {
+            query.setParameter("country", "%" + country + "%");
+        }
+        if (seek) {
+            query.setParameter("lastId", lastId);
+            if (sortKey != SortKey.ID) {
+                query.setParameter("lastKey", lastKey == null ? "" : lastKey);
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
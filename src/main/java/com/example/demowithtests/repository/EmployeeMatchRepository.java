@@ -0,0 +1,56 @@
+package com.example.demowithtests.repository;
+
+import com.example.demowithtests.domain.Employee;
+
+import java.util.Optional;
+
+/**
+ * "First matching" lookups: the predicate is compiled to a LIKE and the query is limited to one row,
+ * so the database stops at the first hit instead of the application scanning the table.
+ */
+public interface EmployeeMatchRepository {
+
+    /**
+     * @return the employee with the lowest id whose field matches
+     */
+    Optional<Employee> findFirstMatching(MatchField field, TextMatch match, String value);
+
+    /**
+     * Same as {@link #findFirstMatching}, but returns the matching column value only, without loading the employee.
+     */
+    Optional<String> findFirstValueMatching(MatchField field, TextMatch match, String value);
+
+    enum MatchField {
+        NAME("name"),
+        EMAIL("email"),
+        COUNTRY("country");
+
+        private final String attribute;
+
+        MatchField(String attribute) {
+            this.attribute = attribute;
+        }
+
+        public String attribute() {
+            return attribute;
+        }
+    }
+
+    enum TextMatch {
+        PREFIX,
+        SUFFIX,
+        CONTAINS;
+
+        /**
+         * @return LIKE pattern with the LIKE wildcards of the value escaped by '\'
+         */
+        public String toPattern(String value) {
+            String escaped = value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            return switch (this) {
+                case PREFIX -> escaped + "%";
+                case SUFFIX -> "%" + escaped;
+                case CONTAINS -> "%" + escaped + "%";
+            };
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demowithtests.repository;
+
+import com.example.demowithtests.domain.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Optional;
+
+public class EmployeeMatchRepositoryImpl implements EmployeeMatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Employee> findFirstMatching(MatchField field, TextMatch match, String value) {
+        return entityManager.createQuery("select e from Employee e where " + predicate(field) + " order by e.id",
+                        Employee.class)
+                .setParameter("pattern", match.toPattern(value))
+                .setMaxResults(1)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<String> findFirstValueMatching(MatchField field, TextMatch match, String value) {
+        return entityManager.createQuery("select e." + field.attribute() + " from Employee e where "
+                                + predicate(field) + " order by e.id", String.class)
+                .setParameter("pattern", match.toPattern(value))
+                .setMaxResults(1)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    private static String predicate(MatchField field) {
+        return "e." + field.attribute() + " like :pattern escape '\\'";
+    }
+}
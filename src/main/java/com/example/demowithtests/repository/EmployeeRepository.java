@@ -1,22 +1,34 @@
 package com.example.demowithtests.repository;
 
 import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.dto.AddressRowDto;
+import com.example.demowithtests.dto.CountryCountDto;
+import com.example.demowithtests.dto.EmployeeNameDto;
+import com.example.demowithtests.dto.EmployeeRowDto;
+import com.example.demowithtests.repository.EmployeeMatchRepository.TextMatch;
+import com.example.demowithtests.util.annotations.entity.EntityFormatting;
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
+public interface EmployeeRepository extends JpaRepository<Employee, Integer>, EmployeeKeysetRepository,
+        EmployeeMatchRepository {
 
     @Query(value = "select e from Employee e where e.country =?1")
     @EntityGraph(attributePaths = {"addresses"})
@@ -59,33 +71,151 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
 
     Page<Employee> findByCountryContaining(String country, Pageable pageable);
 
+    /**
+     * Same rows as {@link #findAll(Pageable)}, without the count query.
+     */
+    Slice<Employee> findAllBy(Pageable pageable);
+
+    /**
+     * Same rows as {@link #findByCountryContaining(String, Pageable)}, without the count query.
+     */
+    Slice<Employee> findSliceByCountryContaining(String country, Pageable pageable);
+
+    long countByCountryContaining(String country);
+
+    @Query("select e.country from Employee e")
+    List<String> findAllCountries();
+
+    @Query("select distinct e.country from Employee e where e.country is not null order by e.country")
+    List<String> findDistinctCountries();
+
+    @Query("select e.country from Employee e where e.country like concat(:prefix, '%') order by e.country")
+    List<String> findCountriesStartingWith(@Param("prefix") String prefix);
+
+    @Query("select new com.example.demowithtests.dto.CountryCountDto(e.country, count(e)) from Employee e " +
+            "where e.country like concat(:prefix, '%') group by e.country order by e.country")
+    List<CountryCountDto> countByCountryStartingWith(@Param("prefix") String prefix);
+
     @Query(value = "SELECT * FROM users WHERE country = 'Ukraine'", nativeQuery = true)
     Optional<List<Employee>> findAllUkrainian();
 
     @Query(value = "SELECT * FROM users WHERE is_deleted = false", nativeQuery = true)
     List<Employee> findAllNotDeletedUsers();
 
-    @Query(value = "SELECT * FROM users WHERE id = :id and is_deleted = false", nativeQuery = true)
-    Optional<Employee> findByIdAndNotDeleted(Integer id);
+    /**
+     * Served from the second-level cache when the employee is cached, unlike a native query.
+     */
+    default Optional<Employee> findByIdAndNotDeleted(Integer id) {
+        return findById(id).filter(employee -> Boolean.FALSE.equals(employee.getIsDeleted()));
+    }
+
+    @Query(value = "SELECT MIN(id) FROM users WHERE is_deleted = false", nativeQuery = true)
+    Integer findMinNotDeletedId();
+
+    @Query(value = "SELECT MAX(id) FROM users WHERE is_deleted = false", nativeQuery = true)
+    Integer findMaxNotDeletedId();
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "UPDATE users SET is_deleted = true WHERE is_deleted = false AND id BETWEEN :fromId AND :toId",
+            nativeQuery = true)
+    int softDeleteByIdRange(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "UPDATE users SET is_deleted = true WHERE id = :id AND is_deleted = false", nativeQuery = true)
+    int softDeleteById(@Param("id") Integer id);
+
+    @Query("select min(e.id) from Employee e " +
+            "where (:country is null or e.country = :country) and (:deleted is null or e.isDeleted = :deleted)")
+    Integer findMinId(@Param("country") String country, @Param("deleted") Boolean deleted);
+
+    @Query("select max(e.id) from Employee e " +
+            "where (:country is null or e.country = :country) and (:deleted is null or e.isDeleted = :deleted)")
+    Integer findMaxId(@Param("country") String country, @Param("deleted") Boolean deleted);
 
     @Transactional
     @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.name = :name, e.nameReversed = :nameReversed " +
+            "where e.id between :fromId and :toId " +
+            "and (:country is null or e.country = :country) and (:deleted is null or e.isDeleted = :deleted)")
+    int updateNames(@Param("name") String name,
+                    @Param("nameReversed") String nameReversed,
+                    @Param("country") String country,
+                    @Param("deleted") Boolean deleted,
+                    @Param("fromId") Integer fromId,
+                    @Param("toId") Integer toId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
     @Query(value = "INSERT INTO users(name, email, country, gender) VALUES (:name, :email, :country, :gender)", nativeQuery = true)
         //Integer saveEmployee(String name, String email, String country, String gender);
     Employee saveEmployee(String name, String email, String country, String gender);
 
     @Transactional
     @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
     @Query(value = "UPDATE users SET name = ?1, email = ?2, country = ?3 WHERE id = ?4", nativeQuery = true)
     Integer updateEmployee(String name, String email, String country, Integer id);
 
     Optional<Employee> findByEmail(String email);
 
+    @Query("select new com.example.demowithtests.dto.EmployeeNameDto(e.id, e.name) from Employee e " +
+            "where lower(e.name) like lower(concat(:prefix, '%')) and (e.isDeleted is null or e.isDeleted = false) " +
+            "order by e.name, e.id")
+    List<EmployeeNameDto> findNamesStartingWith(@Param("prefix") String prefix, Pageable pageable);
+
     @Query(value = "select * from users where name like concat(:startingChars, '%')", nativeQuery = true)
     List<Employee> findByNameStartingWith(@Param("startingChars") String startingChars);
 
-    @Query(value = "select e from Employee e where e.name like concat('%', :endingChars)")
-    List<Employee> findByNameEndingWith(@Param("endingChars") String endingChars);
+    /**
+     * Case-insensitive suffix search, served by the index on the reversed name.
+     */
+    default List<Employee> findByNameEndingWith(String endingChars) {
+        return findByNameReversedStartingWith(TextMatch.PREFIX.toPattern(EntityFormatting.toReversedKey(endingChars)));
+    }
+
+    @Query("select e from Employee e where e.nameReversed like :pattern escape '\\'")
+    List<Employee> findByNameReversedStartingWith(@Param("pattern") String pattern);
+
+    @Query("select new com.example.demowithtests.dto.EmployeeRowDto(e.id, e.name, e.country, e.email, e.gender) " +
+            "from Employee e where e.isDeleted = false order by e.id")
+    List<EmployeeRowDto> findAllNotDeletedRows();
+
+    @Query("select new com.example.demowithtests.dto.EmployeeRowDto(e.id, e.name, e.country, e.email, e.gender) " +
+            "from Employee e where e.country = :country order by e.id")
+    List<EmployeeRowDto> findRowsByCountry(@Param("country") String country);
+
+    /**
+     * Rows of the employees of a country that have an email, the recipients of a mailing.
+     */
+    @Query("select new com.example.demowithtests.dto.EmployeeRowDto(e.id, e.name, e.country, e.email, e.gender) " +
+            "from Employee e where e.country = :country and e.email is not null and trim(e.email) <> '' order by e.id")
+    List<EmployeeRowDto> findMailableRowsByCountry(@Param("country") String country);
+
+    /**
+     * @param pattern LIKE pattern escaped with a backslash, see {@link TextMatch#toPattern(String)}
+     */
+    @Query("select new com.example.demowithtests.dto.EmployeeRowDto(e.id, e.name, e.country, e.email, e.gender) " +
+            "from Employee e where e.name like :pattern escape '\\' order by e.id")
+    List<EmployeeRowDto> findRowsByNameLike(@Param("pattern") String pattern);
+
+    /**
+     * @param pattern LIKE pattern over the reversed lower-case name, escaped with a backslash
+     */
+    @Query("select new com.example.demowithtests.dto.EmployeeRowDto(e.id, e.name, e.country, e.email, e.gender) " +
+            "from Employee e where e.nameReversed like :pattern escape '\\' order by e.id")
+    List<EmployeeRowDto> findRowsByNameReversedLike(@Param("pattern") String pattern);
+
+    /**
+     * Addresses of the given employees in one statement, ordered like {@link Employee#getAddresses()}.
+     */
+    @Query("select new com.example.demowithtests.dto.AddressRowDto(e.id, a.id, a.addressHasActive, a.country, a.city, a.street) " +
+            "from Employee e join e.addresses a where e.id in :employeeIds order by a.id desc, a.country asc")
+    List<AddressRowDto> findAddressRows(@Param("employeeIds") Collection<Integer> employeeIds);
 
     @Override
     @Modifying(flushAutomatically = true, clearAutomatically = true)
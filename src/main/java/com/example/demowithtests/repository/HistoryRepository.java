@@ -1,9 +1,36 @@
 package com.example.demowithtests.repository;
 
 import com.example.demowithtests.domain.History;
+import com.example.demowithtests.dto.HistoryDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface HistoryRepository extends JpaRepository<History, Integer> {
+
+    /**
+     * Newest records of a document, served by the (document, date_and_time, id) index.
+     */
+    @Query("select new com.example.demowithtests.dto.HistoryDto(h.id, h.description, h.dateAndTime) from History h " +
+            "where h.document.id = :documentId order by h.dateAndTime desc, h.id desc")
+    List<HistoryDto> findLatestByDocument(@Param("documentId") Integer documentId, Pageable pageable);
+
+    /**
+     * Records older than (lastTime, lastId). The redundant {@code dateAndTime <= :lastTime} bound lets the index
+     * seek to the position and prunes the newer partitions.
+     */
+    @Query("select new com.example.demowithtests.dto.HistoryDto(h.id, h.description, h.dateAndTime) from History h " +
+            "where h.document.id = :documentId and h.dateAndTime <= :lastTime " +
+            "and (h.dateAndTime < :lastTime or h.id < :lastId) " +
+            "order by h.dateAndTime desc, h.id desc")
+    List<HistoryDto> findByDocumentBefore(@Param("documentId") Integer documentId,
+                                          @Param("lastTime") LocalDateTime lastTime,
+                                          @Param("lastId") Integer lastId,
+                                          Pageable pageable);
 }
@@ -0,0 +1,87 @@
+package com.example.demowithtests.repository;
+
+import com.example.demowithtests.domain.Job;
+import com.example.demowithtests.domain.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * State changes are single conditional updates, so a progress write can never overwrite a cancel request
+ * and only one runner can claim a queued job.
+ */
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    List<Job> findByStatusInOrderById(Collection<JobStatus> statuses);
+
+    @Query("select j.cancelRequested from Job j where j.id = :id")
+    boolean isCancelRequested(@Param("id") Long id);
+
+    /**
+     * @return 1 when the job was queued and is now running, 0 when it was cancelled or claimed meanwhile
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Job j set j.status = com.example.demowithtests.domain.JobStatus.RUNNING, " +
+            "j.startedAt = :now, j.updatedAt = :now " +
+            "where j.id = :id and j.status = com.example.demowithtests.domain.JobStatus.QUEUED " +
+            "and j.cancelRequested = false")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Job j set j.totalUnits = :total, j.doneUnits = :done, j.processedRows = :rows, " +
+            "j.updatedAt = :now where j.id = :id")
+    int updateProgress(@Param("id") Long id,
+                       @Param("total") long total,
+                       @Param("done") long done,
+                       @Param("rows") long rows,
+                       @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Job j set j.status = :status, j.result = :result, j.error = :error, " +
+            "j.updatedAt = :now, j.finishedAt = :now where j.id = :id")
+    int finish(@Param("id") Long id,
+               @Param("status") JobStatus status,
+               @Param("result") String result,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * Cancels a job that has not started yet.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Job j set j.status = com.example.demowithtests.domain.JobStatus.CANCELLED, j.cancelRequested = true, " +
+            "j.updatedAt = :now, j.finishedAt = :now " +
+            "where j.id = :id and j.status = com.example.demowithtests.domain.JobStatus.QUEUED")
+    int cancelQueued(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Asks a running job to stop at its next checkpoint.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Job j set j.cancelRequested = true, j.updatedAt = :now " +
+            "where j.id = :id and j.status = com.example.demowithtests.domain.JobStatus.RUNNING")
+    int requestCancel(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Puts a job cut short by a restart back into the queue, its progress starts over.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Job j set j.status = com.example.demowithtests.domain.JobStatus.QUEUED, j.doneUnits = 0, " +
+            "j.processedRows = 0, j.startedAt = null, j.updatedAt = :now " +
+            "where j.id = :id and j.status = com.example.demowithtests.domain.JobStatus.RUNNING")
+    int requeue(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -4,6 +4,13 @@ import com.example.demowithtests.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
+
+    /**
+     * Served by the unique index on name, see V18.
+     */
+    Optional<User> findByName(String name);
 }
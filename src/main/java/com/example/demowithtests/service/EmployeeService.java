@@ -2,13 +2,23 @@ package com.example.demowithtests.service;
 
 import com.example.demowithtests.domain.Document;
 import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.dto.CountedPageDto;
+import com.example.demowithtests.dto.CountryCountDto;
+import com.example.demowithtests.dto.EmailCampaignDto;
+import com.example.demowithtests.dto.EmployeeDto;
 import com.example.demowithtests.dto.EmployeeEmailDto;
+import com.example.demowithtests.dto.EmployeeFilterDto;
+import com.example.demowithtests.dto.EmployeeReadDto;
+import com.example.demowithtests.dto.KeysetSliceDto;
+import com.example.demowithtests.repository.EmployeeKeysetRepository.SortKey;
+import com.example.demowithtests.service.count.CountStrategy;
+import com.example.demowithtests.service.job.JobContext;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 public interface EmployeeService {
 
@@ -20,15 +30,42 @@ public interface EmployeeService {
 
     Page<Employee> getAllWithPagination(Pageable pageable);
 
+    /**
+     * Like {@link #getAllWithPagination(Pageable)}, with the total produced by the given strategy.
+     */
+    CountedPageDto<Employee> getAllWithPagination(Pageable pageable, CountStrategy countStrategy);
+
     Employee getById(Integer id);
 
+    /**
+     * Like {@link #getById(Integer)}, mapped and served from the read cache.
+     *
+     * @throws com.example.demowithtests.util.exception.ResourceNotFoundException when there is no such employee
+     */
+    EmployeeReadDto getReadDtoById(Integer id);
+
     Employee updateById(Integer id, Employee plane);
 
     Employee updateOrSave(Integer id, Employee employee);
 
-    Employee removeById(Integer id);
+    void removeById(Integer id);
 
-    void removeAll();
+    /**
+     * Soft deletes all employees with set-based updates over id windows of {@code chunkSize},
+     * each window in its own transaction.
+     *
+     * @param chunkSize width of an id window
+     * @return number of employees marked as deleted
+     */
+    default int removeAll(int chunkSize) {
+        return removeAll(chunkSize, JobContext.NONE);
+    }
+
+    /**
+     * Same as {@link #removeAll(int)}, reporting every id window to the job context. A cancelled run stops
+     * between windows and keeps the windows already committed.
+     */
+    int removeAll(int chunkSize, JobContext context);
 
     //Page<Employee> findByCountryContaining(String country, Pageable pageable);
 
@@ -42,6 +79,25 @@ public interface EmployeeService {
      */
     Page<Employee> findByCountryContaining(String country, int page, int size, List<String> sortList, String sortOrder);
 
+    /**
+     * Like {@link #findByCountryContaining(String, int, int, List, String)}, with the total produced
+     * by the given strategy.
+     */
+    CountedPageDto<Employee> findByCountryContaining(String country, int page, int size, List<String> sortList,
+                                                     String sortOrder, CountStrategy countStrategy);
+
+    /**
+     * Keyset alternative to offset paging: no count query, and every page costs the same as the first one.
+     *
+     * @param country   substring of the country, no filter when null
+     * @param sortKey   column to sort on, ties are broken by id
+     * @param sortOrder sort order, ASC or DESC
+     * @param token     continuation token of the previous page, null for the first page
+     * @param size      number of entries in the page
+     */
+    KeysetSliceDto<Employee> findPageAfter(String country, SortKey sortKey, Sort.Direction sortOrder,
+                                           String token, int size);
+
     /**
      * Get all the countries of all the employees.
      *
@@ -56,11 +112,24 @@ public interface EmployeeService {
      */
     List<String> getSortCountry();
 
+    /**
+     * Counts employees per country in the database.
+     *
+     * @param prefix only countries starting with it, all countries when null or empty
+     * @return countries with their employee counts, ordered by country
+     */
+    List<CountryCountDto> getCountryFacets(String prefix);
+
     Optional<String> findEmails();
 
     List<Employee> filterByCountry(String country);
 
-    Set<String> sendEmailsAllUkrainian();
+    /**
+     * Queues the information update reminder for every employee from Ukraine, nothing is sent in the call.
+     *
+     * @return the campaign, its delivery state is served by {@code GET /api/campaigns/{id}}
+     */
+    EmailCampaignDto sendEmailsAllUkrainian();
 
     List<Employee> findByNameContaining(String name);
 
@@ -70,12 +139,59 @@ public interface EmployeeService {
 
     List<Employee> saveAll(List<Employee> employeeListForSave);
 
-    List<Employee> updateAllNames(List<Employee> employees, String name);
+    /**
+     * Renames all employees matching the filter in the database, without loading them.
+     *
+     * @param name      new name
+     * @param filter    optional country, deleted flag and id range restrictions
+     * @param chunkSize when set, the update runs over id windows of this width and commits after each window;
+     *                  when null, a single statement updates all matching rows
+     * @return number of renamed employees
+     */
+    default int updateAllNames(String name, EmployeeFilterDto filter, Integer chunkSize) {
+        return updateAllNames(name, filter, chunkSize, JobContext.NONE);
+    }
+
+    /**
+     * Same as {@link #updateAllNames(String, EmployeeFilterDto, Integer)}, reporting every id window to the job
+     * context. A cancelled run stops between windows and keeps the windows already committed.
+     */
+    int updateAllNames(String name, EmployeeFilterDto filter, Integer chunkSize, JobContext context);
 
     List<Employee> findByNameStartingWith(String startingChars);
 
     List<Employee> findByNameEndingWith(String EndingChars);
 
+    /*
+     * List endpoints: built from the selected columns plus one address query per 1000 employees,
+     * no entity is loaded.
+     */
+
+    /**
+     * Like {@link #getAll()}, as DTOs.
+     */
+    List<EmployeeDto> getAllDtos();
+
+    /**
+     * Like {@link #filterByCountry(String)}, as DTOs.
+     */
+    List<EmployeeDto> filterDtosByCountry(String country);
+
+    /**
+     * Like {@link #findByNameContaining(String)}, as DTOs.
+     */
+    List<EmployeeDto> findDtosByNameContaining(String name);
+
+    /**
+     * Like {@link #findByNameStartingWith(String)}, as DTOs.
+     */
+    List<EmployeeDto> findDtosByNameStartingWith(String startingChars);
+
+    /**
+     * Like {@link #findByNameEndingWith(String)}, as DTOs.
+     */
+    List<EmployeeDto> findDtosByNameEndingWith(String endingChars);
+
     Employee findById(Integer id);
 
     void removeByIdCompletely(Integer id);
@@ -3,29 +3,55 @@ package com.example.demowithtests.service;
 import com.example.demowithtests.domain.Document;
 import com.example.demowithtests.domain.Employee;
 import com.example.demowithtests.domain.History;
+import com.example.demowithtests.dto.AddressDto;
+import com.example.demowithtests.dto.AddressRowDto;
+import com.example.demowithtests.dto.CountedPageDto;
+import com.example.demowithtests.dto.CountryCountDto;
+import com.example.demowithtests.dto.EmailCampaignDto;
+import com.example.demowithtests.dto.EmailMessageDto;
+import com.example.demowithtests.dto.EmployeeDto;
 import com.example.demowithtests.dto.EmployeeEmailDto;
+import com.example.demowithtests.dto.EmployeeFilterDto;
+import com.example.demowithtests.dto.EmployeeReadDto;
+import com.example.demowithtests.dto.EmployeeRowDto;
+import com.example.demowithtests.dto.KeysetSliceDto;
+import com.example.demowithtests.dto.TotalCountDto;
+import com.example.demowithtests.repository.EmployeeKeysetRepository.SortKey;
+import com.example.demowithtests.repository.EmployeeMatchRepository.MatchField;
+import com.example.demowithtests.repository.EmployeeMatchRepository.TextMatch;
 import com.example.demowithtests.repository.EmployeeRepository;
-import com.example.demowithtests.service.emailSevice.EmailSenderService;
+import com.example.demowithtests.service.autocomplete.NameAutocompleteService;
+import com.example.demowithtests.service.cache.EmployeeReadCache;
+import com.example.demowithtests.service.count.CountStrategy;
+import com.example.demowithtests.service.count.EmployeeCountService;
 import com.example.demowithtests.service.history.HistoryService;
 import com.example.demowithtests.service.history.HistoryServiceBean;
+import com.example.demowithtests.service.job.JobContext;
+import com.example.demowithtests.service.outbox.EmailOutboxService;
+import com.example.demowithtests.util.KeysetCursor;
+import com.example.demowithtests.util.MessageTemplate;
 import com.example.demowithtests.util.annotations.entity.ActivateCustomAnnotations;
+import com.example.demowithtests.util.annotations.entity.EntityFormatting;
 import com.example.demowithtests.util.annotations.entity.Name;
 import com.example.demowithtests.util.annotations.entity.ToLowerCase;
 import com.example.demowithtests.util.exception.EmployeeNotFoundException;
 import com.example.demowithtests.util.exception.ResourceNotFoundException;
-import com.example.demowithtests.util.mappers.EmployeeMapper;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,17 +59,36 @@ import java.util.stream.Collectors;
 @Service
 public class EmployeeServiceBean implements EmployeeService {
 
+    /**
+     * Employees per address query of the DTO list methods, keeps the IN list within driver limits.
+     */
+    private static final int ADDRESS_QUERY_IDS = 1000;
+
+    private static final String UKRAINIANS_CAMPAIGN = "ukrainians-information-update";
+
+    private static final String UKRAINIANS_SUBJECT = "Need to update your information";
+
+    private static final MessageTemplate UKRAINIANS_BODY = MessageTemplate.compile("""
+            Dear {name}!
+
+            The expiration date of your information is coming up soon.
+            Please. Don't delay in updating it.
+
+            Best regards,
+            Ukrainian Info Service.""");
+
     private final EmployeeRepository employeeRepository;
-    private final EmailSenderService emailSenderService;
-    private final EmployeeMapper employeeMapper;
+    private final EmailOutboxService emailOutboxService;
     private final HistoryService historyService;
-
+    private final EmployeeCountService employeeCountService;
+    private final NameAutocompleteService nameAutocompleteService;
+    private final EmployeeReadCache employeeReadCache;
 
     @Override
     @ActivateCustomAnnotations({Name.class, ToLowerCase.class})
     // @Transactional(propagation = Propagation.MANDATORY)
     public Employee create(Employee employee) {
-        return employeeRepository.save(employee);
+        return written(employeeRepository.save(employee));
 //        return employeeRepository.saveAndFlush(employee);
     }
 
@@ -53,7 +98,11 @@ public class EmployeeServiceBean implements EmployeeService {
      */
     @Override
     public Employee createAndSave(Employee employee) {
-        return employeeRepository.saveEmployee(employee.getName(), employee.getEmail(), employee.getCountry(), String.valueOf(employee.getGender()));
+        Employee saved = employeeRepository.saveEmployee(employee.getName(), employee.getEmail(), employee.getCountry(), String.valueOf(employee.getGender()));
+        // the native insert does not return the generated id
+        nameAutocompleteService.rebuildAsync();
+        employeeReadCache.evictAll();
+        return saved;
     }
 
     @Override
@@ -69,12 +118,30 @@ public class EmployeeServiceBean implements EmployeeService {
         return list;
     }
 
+    @Override
+    public CountedPageDto<Employee> getAllWithPagination(Pageable pageable, CountStrategy countStrategy) {
+        log.debug("getAllWithPagination() - start: pageable = {}, countStrategy = {}", pageable, countStrategy);
+        if (countStrategy == CountStrategy.EXACT) {
+            return new CountedPageDto<>(employeeRepository.findAll(pageable), CountStrategy.EXACT);
+        }
+        Slice<Employee> slice = employeeRepository.findAllBy(pageable);
+        TotalCountDto total = employeeCountService.countAll(countStrategy);
+        log.debug("getAllWithPagination() - end: total = {}", total);
+        return new CountedPageDto<>(new PageImpl<>(slice.getContent(), pageable, total.total()), total.strategy());
+    }
+
     @Override
     public Employee getById(Integer id) {
         return employeeRepository.findByIdAndNotDeleted(id)
                 .orElseThrow(ResourceNotFoundException::new);
     }
 
+    @Override
+    public EmployeeReadDto getReadDtoById(Integer id) {
+        return employeeReadCache.getReadDto(id, () -> employeeRepository.findByIdAndNotDeleted(id))
+                .orElseThrow(ResourceNotFoundException::new);
+    }
+
     @Override
     public Employee findById(Integer id) {
         return employeeRepository.findById(id)
@@ -88,7 +155,7 @@ public class EmployeeServiceBean implements EmployeeService {
                     entity.setName(employee.getName());
                     entity.setEmail(employee.getEmail());
                     entity.setCountry(employee.getCountry());
-                    return employeeRepository.save(entity);
+                    return written(employeeRepository.save(entity));
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with id = " + id));
     }
@@ -96,17 +163,16 @@ public class EmployeeServiceBean implements EmployeeService {
     @Override
     public Employee updateOrSave(Integer id, Employee employee) {
         employee.setId(id);
-        return employeeRepository.save(employee);
+        return written(employeeRepository.save(employee));
     }
 
     @Override
-    public Employee removeById(Integer id) {
-        return employeeRepository.findByIdAndNotDeleted(id)
-                .map(employee -> {
-                    employee.setIsDeleted(true);
-                    return employeeRepository.save(employee);
-                })
-                .orElseThrow(() -> new EntityNotFoundException("Employee not found with id = " + id));
+    public void removeById(Integer id) {
+        if (employeeRepository.softDeleteById(id) == 0) {
+            throw new EntityNotFoundException("Employee not found with id = " + id);
+        }
+        nameAutocompleteService.employeeRemoved(id);
+        employeeReadCache.evict(id);
     }
 
     @Override
@@ -114,18 +180,56 @@ public class EmployeeServiceBean implements EmployeeService {
         var employee = employeeRepository.findById(id)
                 .orElseThrow(ResourceNotFoundException::new);
         employeeRepository.delete(employee);
+        nameAutocompleteService.employeeRemoved(id);
+        employeeReadCache.evict(id);
     }
 
     @Override
-    public void removeAll() {
-        List<Employee> employeeList = employeeRepository
-                .findAllNotDeletedUsers()
-                .stream()
-                .peek(employee -> {
-                    employee.setIsDeleted(true);
-                })
-                .toList();
-        employeeRepository.saveAll(employeeList);
+    public int removeAll(int chunkSize, JobContext context) {
+        try {
+            return updateInIdChunks(employeeRepository.findMinNotDeletedId(), employeeRepository.findMaxNotDeletedId(),
+                    chunkSize, employeeRepository::softDeleteByIdRange, context);
+        } finally {
+            // also after a cancelled run, its committed windows are visible
+            nameAutocompleteService.rebuildAsync();
+            employeeReadCache.evictAll();
+        }
+    }
+
+    /**
+     * Keeps the autocomplete index and the DTO cache in line with an employee saved through JPA.
+     */
+    private Employee written(Employee saved) {
+        if (saved != null) {
+            nameAutocompleteService.employeeChanged(saved.getId(), saved.getName(), saved.getIsDeleted());
+            employeeReadCache.evict(saved.getId());
+            employeeReadCache.evictEmail(saved.getEmail());
+        }
+        return saved;
+    }
+
+    /**
+     * Applies a set-based update to [minId, maxId] window by window. The repository update methods are
+     * transactional themselves, so every window commits on its own and row locks are held for one window only.
+     */
+    private int updateInIdChunks(Integer minId, Integer maxId, int chunkSize, IntBinaryOperator update,
+                                 JobContext context) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        if (minId == null || maxId == null || minId > maxId) {
+            // no rows, or an id range that lies outside the table
+            return 0;
+        }
+        context.total((long) maxId - minId + 1);
+        int updated = 0;
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            long to = Math.min(maxId, from + chunkSize - 1);
+            int windowUpdated = update.applyAsInt((int) from, (int) to);
+            updated += windowUpdated;
+            context.advance(to - from + 1, windowUpdated);
+        }
+        return updated;
     }
 
     /*@Override
@@ -141,6 +245,44 @@ public class EmployeeServiceBean implements EmployeeService {
         return employeeRepository.findByCountryContaining(country, pageable);
     }
 
+    @Override
+    public CountedPageDto<Employee> findByCountryContaining(String country, int page, int size, List<String> sortList,
+                                                            String sortOrder, CountStrategy countStrategy) {
+        if (country == null) {
+            country = "";
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by(createSortOrder(sortList, sortOrder)));
+        if (countStrategy == CountStrategy.EXACT) {
+            return new CountedPageDto<>(employeeRepository.findByCountryContaining(country, pageable), CountStrategy.EXACT);
+        }
+        Slice<Employee> slice = employeeRepository.findSliceByCountryContaining(country, pageable);
+        TotalCountDto total = employeeCountService.countByCountryContaining(country, countStrategy);
+        return new CountedPageDto<>(new PageImpl<>(slice.getContent(), pageable, total.total()), total.strategy());
+    }
+
+    @Override
+    public KeysetSliceDto<Employee> findPageAfter(String country, SortKey sortKey, Sort.Direction sortOrder,
+                                                  String token, int size) {
+        log.debug("findPageAfter() - start: country = {}, sortKey = {}, sortOrder = {}", country, sortKey, sortOrder);
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        boolean descending = sortOrder.isDescending();
+        KeysetCursor cursor = token == null || token.isBlank() ? null : KeysetCursor.decode(token, sortKey, descending);
+        // one extra row tells whether a next page exists without counting
+        List<Employee> rows = employeeRepository.findPageAfter(country, sortKey, descending,
+                cursor == null ? null : cursor.lastKey(), cursor == null ? null : cursor.lastId(), size + 1);
+        boolean hasNext = rows.size() > size;
+        List<Employee> content = hasNext ? rows.subList(0, size) : rows;
+        String nextToken = null;
+        if (hasNext) {
+            Employee last = content.get(content.size() - 1);
+            nextToken = new KeysetCursor(sortKey, descending, sortKey.valueOf(last), last.getId()).encode();
+        }
+        log.debug("findPageAfter() - end: rows = {}, hasNext = {}", content.size(), hasNext);
+        return new KeysetSliceDto<>(content, size, hasNext, nextToken);
+    }
+
     private List<Sort.Order> createSortOrder(List<String> sortList, String sortDirection) {
         List<Sort.Order> sorts = new ArrayList<>();
         Sort.Direction direction;
@@ -158,40 +300,27 @@ public class EmployeeServiceBean implements EmployeeService {
     @Override
     public List<String> getAllEmployeeCountry() {
         log.info("getAllEmployeeCountry() - start:");
-        List<Employee> employeeList = employeeRepository.findAll();
-        List<String> countries = employeeList.stream()
-                .map(country -> country.getCountry())
-                .collect(Collectors.toList());
-        /*List<String> countries = employeeList.stream()
-                .map(Employee::getCountry)
-                //.sorted(Comparator.naturalOrder())
-                .collect(Collectors.toList());*/
-
-        log.info("getAllEmployeeCountry() - end: countries = {}", countries);
+        List<String> countries = employeeRepository.findAllCountries();
+        log.info("getAllEmployeeCountry() - end: countries = {}", countries.size());
         return countries;
     }
 
     @Override
     public List<String> getSortCountry() {
-        List<Employee> employeeList = employeeRepository.findAll();
-        return employeeList.stream()
-                .map(Employee::getCountry)
-                .filter(c -> c.startsWith("U"))
-                .sorted(Comparator.naturalOrder())
-                .collect(Collectors.toList());
+        return employeeRepository.findCountriesStartingWith("U");
     }
 
     @Override
-    public Optional<String> findEmails() {
-        var employeeList = employeeRepository.findAll();
-
-        var emails = employeeList.stream()
-                .map(Employee::getEmail)
-                .collect(Collectors.toList());
+    public List<CountryCountDto> getCountryFacets(String prefix) {
+        log.debug("getCountryFacets() - start: prefix = {}", prefix);
+        List<CountryCountDto> facets = employeeRepository.countByCountryStartingWith(prefix == null ? "" : prefix);
+        log.debug("getCountryFacets() - end: countries = {}", facets.size());
+        return facets;
+    }
 
-        var opt = emails.stream()
-                .filter(s -> s.endsWith(".com"))
-                .findFirst()
+    @Override
+    public Optional<String> findEmails() {
+        var opt = employeeRepository.findFirstValueMatching(MatchField.EMAIL, TextMatch.SUFFIX, ".com")
                 .orElse("error?");
         return Optional.ofNullable(opt);
     }
@@ -202,28 +331,21 @@ public class EmployeeServiceBean implements EmployeeService {
     }
 
     @Override
-    public Set<String> sendEmailsAllUkrainian() {
-        var ukrainians = employeeRepository.findAllUkrainian()
-                .orElseThrow(() -> new EntityNotFoundException("Employees from Ukraine not found!"));
-        var emails = new HashSet<String>();
-        ukrainians.forEach(employee -> {
-            emailSenderService.sendEmail(
-                    /*employee.getEmail(),*/
-                    "kaluzny.oleg@gmail.com", //для тесту
-                    "Need to update your information",
-                    String.format(
-                            "Dear " + employee.getName() + "!\n" +
-                                    "\n" +
-                                    "The expiration date of your information is coming up soon. \n" +
-                                    "Please. Don't delay in updating it. \n" +
-                                    "\n" +
-                                    "Best regards,\n" +
-                                    "Ukrainian Info Service.")
-            );
-            emails.add(employee.getEmail());
-        });
-
-        return emails;
+    @Transactional
+    public EmailCampaignDto sendEmailsAllUkrainian() {
+        // the outbox needs a recipient, an employee without an email would roll back the whole campaign
+        var ukrainians = employeeRepository.findMailableRowsByCountry("Ukraine");
+        if (ukrainians.isEmpty()) {
+            throw new EntityNotFoundException("Employees from Ukraine not found!");
+        }
+        var messages = ukrainians.stream()
+                .map(employee -> new EmailMessageDto(
+                        employee.id(),
+                        employee.email(),
+                        UKRAINIANS_SUBJECT,
+                        UKRAINIANS_BODY.render(Map.of("name", Objects.toString(employee.name(), "")))))
+                .toList();
+        return emailOutboxService.createCampaign(UKRAINIANS_CAMPAIGN, messages);
     }
 
     /**
@@ -245,7 +367,7 @@ public class EmployeeServiceBean implements EmployeeService {
         return employeeRepository.findById(id)
                 .map(entity -> {
                     entity.setName(name);
-                    return employeeRepository.save(entity);
+                    return written(employeeRepository.save(entity));
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with id = " + id));
 
@@ -254,23 +376,46 @@ public class EmployeeServiceBean implements EmployeeService {
 
     @Override
     public EmployeeEmailDto findByEmail(String email) {
-        return employeeRepository.findByEmail(email).map(employeeMapper::toEmployeeEmailDto)
+        return employeeReadCache.getEmailDto(email, () -> employeeRepository.findByEmail(email))
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with email = " + email));
     }
 
     @Override
     public List<Employee> saveAll(List<Employee> employeeListForSave) {
-        return employeeRepository.saveAll(employeeListForSave);
+        List<Employee> saved = employeeRepository.saveAll(employeeListForSave);
+        saved.forEach(this::written);
+        return saved;
     }
 
     @Override
-    public List<Employee> updateAllNames(List<Employee> employees, String name) {
-
-        List<Employee> updatedEmployees = employees.stream()
-                .peek(employee -> employee.setName(name))
-                .toList();
+    public int updateAllNames(String name, EmployeeFilterDto filter, Integer chunkSize, JobContext context) {
+        try {
+            return renameAll(name, filter, chunkSize, context);
+        } finally {
+            // also after a cancelled run, its committed windows are visible
+            nameAutocompleteService.rebuildAsync();
+            employeeReadCache.evictAll();
+        }
+    }
 
-        return employeeRepository.saveAll(updatedEmployees);
+    private int renameAll(String name, EmployeeFilterDto filter, Integer chunkSize, JobContext context) {
+        String nameReversed = EntityFormatting.toReversedKey(name);
+        int fromId = filter.fromId() == null ? Integer.MIN_VALUE : filter.fromId();
+        int toId = filter.toId() == null ? Integer.MAX_VALUE : filter.toId();
+        if (chunkSize == null) {
+            context.total(1);
+            int updated = employeeRepository.updateNames(name, nameReversed, filter.country(), filter.deleted(), fromId, toId);
+            context.advance(1, updated);
+            return updated;
+        }
+        Integer minId = employeeRepository.findMinId(filter.country(), filter.deleted());
+        Integer maxId = employeeRepository.findMaxId(filter.country(), filter.deleted());
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+        return updateInIdChunks(Math.max(minId, fromId), Math.min(maxId, toId), chunkSize,
+                (from, to) -> employeeRepository.updateNames(name, nameReversed, filter.country(), filter.deleted(), from, to),
+                context);
     }
 
     @Override
@@ -294,25 +439,89 @@ public class EmployeeServiceBean implements EmployeeService {
     }
 
     @Override
+    public List<EmployeeDto> getAllDtos() {
+        return toEmployeeDtos(employeeRepository.findAllNotDeletedRows());
+    }
+
+    @Override
+    public List<EmployeeDto> filterDtosByCountry(String country) {
+        return toEmployeeDtos(employeeRepository.findRowsByCountry(country));
+    }
+
+    @Override
+    public List<EmployeeDto> findDtosByNameContaining(String name) {
+        return toEmployeeDtos(employeeRepository.findRowsByNameLike(TextMatch.CONTAINS.toPattern(name)));
+    }
+
+    @Override
+    public List<EmployeeDto> findDtosByNameStartingWith(String startingChars) {
+        List<EmployeeRowDto> rows = employeeRepository.findRowsByNameLike(TextMatch.PREFIX.toPattern(startingChars));
+
+        if (rows.isEmpty())
+            throw new EmployeeNotFoundException();
+
+        return toEmployeeDtos(rows);
+    }
+
+    @Override
+    public List<EmployeeDto> findDtosByNameEndingWith(String endingChars) {
+        List<EmployeeRowDto> rows = employeeRepository.findRowsByNameReversedLike(
+                TextMatch.PREFIX.toPattern(EntityFormatting.toReversedKey(endingChars)));
+
+        if (rows.isEmpty())
+            throw new EmployeeNotFoundException();
+
+        return toEmployeeDtos(rows);
+    }
+
+    private List<EmployeeDto> toEmployeeDtos(List<EmployeeRowDto> rows) {
+        Map<Integer, Set<AddressDto>> addresses = new HashMap<>();
+        for (int from = 0; from < rows.size(); from += ADDRESS_QUERY_IDS) {
+            List<Integer> ids = rows.subList(from, Math.min(from + ADDRESS_QUERY_IDS, rows.size())).stream()
+                    .map(EmployeeRowDto::id)
+                    .toList();
+            for (AddressRowDto row : employeeRepository.findAddressRows(ids)) {
+                addresses.computeIfAbsent(row.employeeId(), id -> new LinkedHashSet<>()).add(toAddressDto(row));
+            }
+        }
+        return rows.stream()
+                .map(row -> new EmployeeDto(row.id(), row.name(), row.country(), row.email(), null, row.gender(),
+                        addresses.get(row.id())))
+                .toList();
+    }
+
+    private static AddressDto toAddressDto(AddressRowDto row) {
+        AddressDto dto = new AddressDto();
+        dto.id = row.id();
+        dto.addressHasActive = row.addressHasActive();
+        dto.country = row.country();
+        dto.city = row.city();
+        dto.street = row.street();
+        return dto;
+    }
+
+    @Override
+    @Transactional
     public Employee setDocument(Integer id, Document document) {
         return employeeRepository.findById(id)
                 .map(entity -> {
                     entity.setDocument(document);
-                    historyService.create("The document was assigned to the person with id: " + id,
+                    historyService.record("The document was assigned to the person with id: " + id,
                             entity.getDocument());
-                    return employeeRepository.save(entity);
+                    return written(employeeRepository.save(entity));
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with id = " + id));
     }
 
     @Override
+    @Transactional
     public Employee removeDocument(Integer id) {
         return employeeRepository.findById(id)
                 .map(entity -> {
-                    historyService.create("The document was removed from the person with id: " + id,
+                    historyService.record("The document was removed from the person with id: " + id,
                             entity.getDocument());
                     entity.setDocument(null);
-                    return employeeRepository.save(entity);
+                    return written(employeeRepository.save(entity));
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with id = " + id));
     }
@@ -1,21 +1,30 @@
 package com.example.demowithtests.service;
 
 import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.repository.EmployeeRepository;
+import com.example.demowithtests.service.autocomplete.NameAutocompleteService;
+import com.example.demowithtests.service.cache.EmployeeReadCache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class EmployeeServiceEMBean implements EmployeeServiceEM {
 
+    private final EmployeeRepository employeeRepository;
+    private final NameAutocompleteService nameAutocompleteService;
+    private final EmployeeReadCache employeeReadCache;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -26,7 +35,11 @@ public class EmployeeServiceEMBean implements EmployeeServiceEM {
     @Override
     @Transactional //jakarta
     public Employee createWithJpa(Employee employee) {
-        return entityManager.merge(employee);
+        Employee merged = entityManager.merge(employee);
+        nameAutocompleteService.employeeChanged(merged.getId(), merged.getName(), merged.getIsDeleted());
+        employeeReadCache.evict(merged.getId());
+        employeeReadCache.evictEmail(merged.getEmail());
+        return merged;
         /*entityManager.persist(employee);
         entityManager.flush();
         return entityManager.find(Employee.class, employee);*/
@@ -38,8 +51,7 @@ public class EmployeeServiceEMBean implements EmployeeServiceEM {
     @Override
     @Transactional //jakarta
     public Set<String> findAllCountriesWithJpa() {
-        return entityManager.createQuery("select distinct country from Employee",
-                String.class).getResultStream().collect(Collectors.toSet());
+        return new LinkedHashSet<>(employeeRepository.findDistinctCountries());
     }
 
     /**
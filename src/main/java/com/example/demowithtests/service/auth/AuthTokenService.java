@@ -0,0 +1,19 @@
+package com.example.demowithtests.service.auth;
+
+import com.example.demowithtests.dto.AuthTokenDto;
+import org.springframework.security.core.Authentication;
+
+import java.util.Optional;
+
+public interface AuthTokenService {
+
+    /**
+     * Issues a short-lived signed token for an authenticated user.
+     */
+    AuthTokenDto issue(Authentication authentication);
+
+    /**
+     * @return the authentication the token was issued for, empty when it is invalid or expired
+     */
+    Optional<Authentication> verify(String token);
+}
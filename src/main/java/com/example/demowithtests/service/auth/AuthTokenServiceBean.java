@@ -0,0 +1,75 @@
+package com.example.demowithtests.service.auth;
+
+import com.example.demowithtests.dto.AuthTokenDto;
+import com.example.demowithtests.util.security.HmacTokenCodec;
+import com.example.demowithtests.util.security.TokenProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Service
+public class AuthTokenServiceBean implements AuthTokenService {
+
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
+    private static final String GENERATED_KEY = "generated";
+
+    private final HmacTokenCodec codec;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public AuthTokenServiceBean(TokenProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    AuthTokenServiceBean(TokenProperties properties, Clock clock) {
+        Map<String, byte[]> keys = new HashMap<>();
+        if (properties.keys() != null) {
+            properties.keys().forEach((keyId, secret) -> {
+                if (secret != null && !secret.isBlank()) {
+                    keys.put(keyId, Base64.getDecoder().decode(secret.trim()));
+                }
+            });
+        }
+        String currentKey = properties.currentKey();
+        if (keys.isEmpty()) {
+            log.warn("AuthTokenServiceBean() - no token keys configured, tokens are signed with a generated key");
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            keys.put(GENERATED_KEY, secret);
+            currentKey = GENERATED_KEY;
+        }
+        this.codec = new HmacTokenCodec(currentKey, keys);
+        this.ttl = properties.ttl() == null ? DEFAULT_TTL : properties.ttl();
+        this.clock = clock;
+    }
+
+    @Override
+    public AuthTokenDto issue(Authentication authentication) {
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        var authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+        String token = codec.encode(new HmacTokenCodec.Claims(authentication.getName(), authorities, expiresAt));
+        log.debug("issue() - subject = {}, expiresAt = {}", authentication.getName(), expiresAt);
+        return new AuthTokenDto(token, "Bearer", ttl.toSeconds());
+    }
+
+    @Override
+    public Optional<Authentication> verify(String token) {
+        return codec.decode(token, clock.instant().getEpochSecond())
+                .map(claims -> new PreAuthenticatedAuthenticationToken(claims.subject(), token,
+                        AuthorityUtils.createAuthorityList(claims.authorities())));
+    }
+}
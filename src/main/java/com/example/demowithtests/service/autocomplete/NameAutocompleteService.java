@@ -0,0 +1,27 @@
+package com.example.demowithtests.service.autocomplete;
+
+import com.example.demowithtests.dto.EmployeeNameDto;
+
+import java.util.List;
+
+public interface NameAutocompleteService {
+
+    /**
+     * @param prefix start of the name, case is ignored
+     * @param limit  maximum number of suggestions
+     * @return ids and names of non-deleted employees ordered by name
+     */
+    List<EmployeeNameDto> autocomplete(String prefix, int limit);
+
+    /**
+     * Records a created or renamed employee; a deleted employee or a null name removes it.
+     */
+    void employeeChanged(Integer id, String name, Boolean deleted);
+
+    void employeeRemoved(Integer id);
+
+    /**
+     * Reloads the index from the database in the background, for writes that bypass the per-row hooks.
+     */
+    void rebuildAsync();
+}
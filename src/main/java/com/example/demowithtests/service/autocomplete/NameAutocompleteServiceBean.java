@@ -0,0 +1,115 @@
+package com.example.demowithtests.service.autocomplete;
+
+import com.example.demowithtests.dto.EmployeeNameDto;
+import com.example.demowithtests.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves autocomplete from a {@link NamePrefixIndex} that is loaded after startup and then kept current by the
+ * employee write paths. Until the first load completes, suggestions come from the database.
+ */
+@Slf4j
+@Service
+public class NameAutocompleteServiceBean implements NameAutocompleteService {
+
+    private static final String SELECT_NAMES = "SELECT id, name FROM users WHERE is_deleted IS NOT TRUE AND name IS NOT NULL";
+
+    private final NamePrefixIndex index = new NamePrefixIndex();
+    private final EmployeeRepository employeeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService rebuilds = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "name-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public NameAutocompleteServiceBean(EmployeeRepository employeeRepository,
+                                       DataSource dataSource,
+                                       PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAsync();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilds.shutdownNow();
+    }
+
+    @Override
+    public List<EmployeeNameDto> autocomplete(String prefix, int limit) {
+        if (prefix == null || limit < 1) {
+            throw new IllegalArgumentException("prefix is required and limit must be positive");
+        }
+        if (!ready) {
+            return employeeRepository.findNamesStartingWith(prefix, PageRequest.of(0, limit));
+        }
+        return index.find(prefix, limit);
+    }
+
+    @Override
+    public void employeeChanged(Integer id, String name, Boolean deleted) {
+        if (id == null) {
+            return;
+        }
+        index.put(id, Boolean.TRUE.equals(deleted) ? null : name);
+        if (index.needsRebuild()) {
+            rebuildAsync();
+        }
+    }
+
+    @Override
+    public void employeeRemoved(Integer id) {
+        employeeChanged(id, null, Boolean.TRUE);
+    }
+
+    @Override
+    public void rebuildAsync() {
+        // a queued rebuild has not started reading yet, so it will see the latest writes as well
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuilds.execute(() -> {
+                rebuildQueued.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    private void rebuild() {
+        long startedAt = System.nanoTime();
+        try {
+            index.rebuild(consumer -> transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.query(SELECT_NAMES,
+                            (RowCallbackHandler) resultSet -> consumer.accept(resultSet.getInt(1), resultSet.getString(2)))));
+            ready = true;
+            log.info("rebuild() - name index loaded: heap = {} bytes, took = {} ms", index.estimatedHeapBytes(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("rebuild() - name index load failed", e);
+        }
+    }
+}
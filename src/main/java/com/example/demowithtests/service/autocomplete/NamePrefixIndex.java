@@ -0,0 +1,282 @@
+package com.example.demowithtests.service.autocomplete;
+
+import com.example.demowithtests.dto.EmployeeNameDto;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive prefix index over employee names.
+ * <p>
+ * The bulk of the index is an immutable snapshot: two parallel arrays of names and ids sorted by
+ * (name ignoring case, id), where equal names share one {@link String} instance. A prefix is a contiguous range
+ * of that order, found by binary search. Writes since the snapshot go to a small sorted delta plus a bit set of
+ * ids whose snapshot entry is stale; lookups merge both. Once the delta grows past an eighth of the snapshot,
+ * {@link #needsRebuild()} asks the owner for a {@link #rebuild}, which runs without blocking lookups.
+ * <p>
+ * Heap cost: 8 bytes of arrays per entry plus one String per distinct name (about 56 bytes for a 13 character
+ * Latin-1 name), {@link #estimatedHeapBytes()} reports it for the current snapshot.
+ */
+public final class NamePrefixIndex {
+
+    private static final Comparator<Entry> ORDER = (left, right) -> compare(left.name(), left.id(), right);
+
+    private static final int MIN_PENDING_WRITES = 10_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Snapshot snapshot = Snapshot.EMPTY;
+    private Delta delta = new Delta();
+    /**
+     * Writes made while a rebuild reads the table, they become the delta of the rebuilt snapshot.
+     */
+    private Delta capture;
+
+    /**
+     * Supplies (id, name) rows for a rebuild.
+     */
+    @FunctionalInterface
+    public interface RowSource {
+        void forEach(RowConsumer consumer);
+    }
+
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(int id, String name);
+    }
+
+    /**
+     * Replaces the content with the rows of the source. Writes made while the source is read are kept,
+     * so the source may be a live table. Rebuilds must not overlap.
+     */
+    public void rebuild(RowSource source) {
+        lock.writeLock().lock();
+        try {
+            capture = new Delta();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Snapshot built;
+        try {
+            Snapshot.Builder builder = new Snapshot.Builder();
+            source.forEach(builder::add);
+            built = builder.build();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                capture = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            snapshot = built;
+            delta = capture;
+            capture = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the employee or replaces its name; a null name removes it.
+     */
+    public void put(int id, String name) {
+        lock.writeLock().lock();
+        try {
+            delta.put(id, name);
+            if (capture != null) {
+                capture.put(id, name);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        put(id, null);
+    }
+
+    /**
+     * @return up to {@code limit} employees whose name starts with the prefix ignoring case, ordered by name and id
+     */
+    public List<EmployeeNameDto> find(String prefix, int limit) {
+        List<EmployeeNameDto> result = new ArrayList<>(Math.min(limit, 64));
+        lock.readLock().lock();
+        try {
+            String[] names = snapshot.names;
+            int[] ids = snapshot.ids;
+            int i = snapshot.lowerBound(prefix);
+            Iterator<Entry> deltaEntries = delta.entries.tailSet(new Entry(prefix, Integer.MIN_VALUE)).iterator();
+            Entry next = nextMatching(deltaEntries, prefix);
+            while (result.size() < limit) {
+                while (i < names.length && delta.stale.get(ids[i]) && startsWith(names[i], prefix)) {
+                    i++;
+                }
+                boolean fromSnapshot = i < names.length && startsWith(names[i], prefix);
+                if (!fromSnapshot && next == null) {
+                    break;
+                }
+                if (fromSnapshot && (next == null || compare(names[i], ids[i], next) < 0)) {
+                    result.add(new EmployeeNameDto(ids[i], names[i]));
+                    i++;
+                } else {
+                    result.add(new EmployeeNameDto(next.id(), next.name()));
+                    next = nextMatching(deltaEntries, prefix);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * @return approximate retained heap of the snapshot, see the class comment for the model
+     */
+    public long estimatedHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return snapshot.heapBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the delta has grown past an eighth of the snapshot and a rebuild is due
+     */
+    public boolean needsRebuild() {
+        lock.readLock().lock();
+        try {
+            int pending = delta.entries.size() + delta.staleIds;
+            return capture == null && pending > Math.max(MIN_PENDING_WRITES, snapshot.names.length / 8);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Entry nextMatching(Iterator<Entry> entries, String prefix) {
+        if (entries.hasNext()) {
+            Entry entry = entries.next();
+            return startsWith(entry.name(), prefix) ? entry : null;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(String name, String prefix) {
+        return name.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    private static int compare(String name, int id, Entry entry) {
+        int byName = String.CASE_INSENSITIVE_ORDER.compare(name, entry.name());
+        return byName != 0 ? byName : Integer.compare(id, entry.id());
+    }
+
+    private record Entry(String name, int id) {
+    }
+
+    private static final class Delta {
+
+        private final TreeSet<Entry> entries = new TreeSet<>(ORDER);
+        private final Map<Integer, Entry> byId = new HashMap<>();
+        /**
+         * Ids whose snapshot entry, if any, must be ignored.
+         */
+        private final BitSet stale = new BitSet();
+        private int staleIds;
+
+        private void put(int id, String name) {
+            Entry previous = byId.remove(id);
+            if (previous != null) {
+                entries.remove(previous);
+            }
+            if (!stale.get(id)) {
+                stale.set(id);
+                staleIds++;
+            }
+            if (name != null) {
+                Entry entry = new Entry(name, id);
+                entries.add(entry);
+                byId.put(id, entry);
+            }
+        }
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new String[0], new int[0], 0);
+
+        private final String[] names;
+        private final int[] ids;
+        private final long heapBytes;
+
+        private Snapshot(String[] names, int[] ids, long heapBytes) {
+            this.names = names;
+            this.ids = ids;
+            this.heapBytes = heapBytes;
+        }
+
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = names.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (String.CASE_INSENSITIVE_ORDER.compare(names[middle], prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private static final class Builder {
+
+            private final List<Entry> entries = new ArrayList<>();
+            private final Map<String, String> interned = new HashMap<>();
+            private long stringBytes;
+
+            private void add(int id, String name) {
+                if (id < 0 || name == null) {
+                    return;
+                }
+                String shared = interned.putIfAbsent(name, name);
+                if (shared == null) {
+                    shared = name;
+                    // String object plus its byte[] (compact strings, compressed oops), 8 byte aligned
+                    stringBytes += 24 + align(16 + (long) name.length() * (isLatin1(name) ? 1 : 2));
+                }
+                entries.add(new Entry(shared, id));
+            }
+
+            private Snapshot build() {
+                entries.sort(ORDER);
+                String[] names = new String[entries.size()];
+                int[] ids = new int[entries.size()];
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = entries.get(i).name();
+                    ids[i] = entries.get(i).id();
+                }
+                long arrays = align(16 + 4L * names.length) * 2;
+                return new Snapshot(names, ids, arrays + stringBytes);
+            }
+
+            private static boolean isLatin1(String name) {
+                for (int i = 0; i < name.length(); i++) {
+                    if (name.charAt(i) > 0xFF) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            private static long align(long bytes) {
+                return (bytes + 7) & ~7L;
+            }
+        }
+    }
+}
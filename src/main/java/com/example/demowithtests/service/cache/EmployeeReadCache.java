@@ -0,0 +1,42 @@
+package com.example.demowithtests.service.cache;
+
+import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.dto.EmployeeEmailDto;
+import com.example.demowithtests.dto.EmployeeReadDto;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Mapped DTOs of the single-employee read endpoints. Misses are cached too, for a shorter time,
+ * so repeated lookups of unknown ids and emails do not reach the database either.
+ */
+public interface EmployeeReadCache {
+
+    /**
+     * @param loader loads the employee when the id is not cached, empty when it does not exist
+     * @return the cached or freshly mapped DTO, empty for a known miss
+     */
+    Optional<EmployeeReadDto> getReadDto(Integer id, Supplier<Optional<Employee>> loader);
+
+    /**
+     * @param loader loads the employee when the email is not cached, empty when it does not exist
+     * @return the cached or freshly mapped DTO, empty for a known miss
+     */
+    Optional<EmployeeEmailDto> getEmailDto(String email, Supplier<Optional<Employee>> loader);
+
+    /**
+     * Drops everything cached for the employee, including its id as a miss and the entries of any of its emails.
+     */
+    void evict(Integer id);
+
+    /**
+     * Drops the entry of an email, e.g. a cached miss for an email that was just taken.
+     */
+    void evictEmail(String email);
+
+    /**
+     * Drops all entries, for writes that do not know which employees they changed.
+     */
+    void evictAll();
+}
@@ -0,0 +1,167 @@
+package com.example.demowithtests.service.cache;
+
+import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.dto.AddressDto;
+import com.example.demowithtests.dto.EmployeeEmailDto;
+import com.example.demowithtests.dto.EmployeeReadDto;
+import com.example.demowithtests.util.mappers.EmployeeMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.function.Supplier;
+
+/**
+ * Two Caffeine caches, by id and by email, published as the cache.* metrics of employee.read-dto and
+ * employee.email-dto. Email entries remember the employee id, so {@link #evict(Integer)} also drops the entry of
+ * an email the employee no longer has; that scan is bounded by the cache size and only runs on writes.
+ * <p>
+ * Evictions requested inside a transaction run after it commits: evicting earlier lets a concurrent read cache the
+ * old row again for the whole ttl. Cached read DTOs never leave the cache, every read gets its own copy with the
+ * response date of that read.
+ */
+@Slf4j
+@Service
+public class EmployeeReadCacheBean implements EmployeeReadCache {
+
+    private final EmployeeMapper employeeMapper;
+    private final Cache<Integer, Optional<EmployeeReadDto>> readDtos;
+    private final Cache<String, Optional<EmailEntry>> emailDtos;
+
+    public EmployeeReadCacheBean(EmployeeMapper employeeMapper,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${app.read-cache.max-size:10000}") long maxSize,
+                                 @Value("${app.read-cache.ttl:5m}") Duration ttl,
+                                 @Value("${app.read-cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.employeeMapper = employeeMapper;
+        this.readDtos = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new HitOrMissExpiry<Integer, EmployeeReadDto>(ttl, negativeTtl))
+                .recordStats()
+                .build();
+        this.emailDtos = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new HitOrMissExpiry<String, EmailEntry>(ttl, negativeTtl))
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, readDtos, "employee.read-dto");
+            CaffeineCacheMetrics.monitor(registry, emailDtos, "employee.email-dto");
+        });
+    }
+
+    @Override
+    public Optional<EmployeeReadDto> getReadDto(Integer id, Supplier<Optional<Employee>> loader) {
+        return readDtos.get(id, key -> loader.get().map(employeeMapper::toEmployeeReadDto))
+                .map(EmployeeReadCacheBean::response);
+    }
+
+    @Override
+    public Optional<EmployeeEmailDto> getEmailDto(String email, Supplier<Optional<Employee>> loader) {
+        return emailDtos.get(email, key -> loader.get()
+                        .map(employee -> new EmailEntry(employee.getId(), employeeMapper.toEmployeeEmailDto(employee))))
+                .map(EmailEntry::dto);
+    }
+
+    @Override
+    public void evict(Integer id) {
+        if (id == null) {
+            return;
+        }
+        afterCommit(() -> {
+            readDtos.invalidate(id);
+            emailDtos.asMap().values().removeIf(entry -> entry.isPresent() && id.equals(entry.get().employeeId()));
+        });
+    }
+
+    @Override
+    public void evictEmail(String email) {
+        if (email != null) {
+            afterCommit(() -> emailDtos.invalidate(email));
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        afterCommit(() -> {
+            log.debug("evictAll() - read dtos = {}, email dtos = {}", readDtos.estimatedSize(), emailDtos.estimatedSize());
+            readDtos.invalidateAll();
+            emailDtos.invalidateAll();
+        });
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    /**
+     * @return a copy of a cached DTO, its date and the dates of its addresses are the time of this response
+     */
+    private static EmployeeReadDto response(EmployeeReadDto cached) {
+        EmployeeReadDto dto = new EmployeeReadDto();
+        dto.id = cached.id;
+        dto.name = cached.name;
+        dto.country = cached.country;
+        dto.email = cached.email;
+        dto.gender = cached.gender;
+        dto.addresses = cached.addresses == null ? null : cached.addresses.stream()
+                .map(EmployeeReadCacheBean::response)
+                .collect(Collectors.toCollection(HashSet::new));
+        return dto;
+    }
+
+    private static AddressDto response(AddressDto cached) {
+        AddressDto dto = new AddressDto();
+        dto.id = cached.id;
+        dto.addressHasActive = cached.addressHasActive;
+        dto.country = cached.country;
+        dto.city = cached.city;
+        dto.street = cached.street;
+        return dto;
+    }
+
+    private record EmailEntry(Integer employeeId, EmployeeEmailDto dto) {
+    }
+
+    /**
+     * Keeps hits for {@code ttl} and misses for {@code negativeTtl} after they were loaded.
+     */
+    private record HitOrMissExpiry<K, V>(Duration ttl, Duration negativeTtl) implements Expiry<K, Optional<V>> {
+
+        @Override
+        public long expireAfterCreate(K key, Optional<V> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Optional<V> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Optional<V> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demowithtests.service.count;
+
+/**
+ * How the total of a paged response is obtained.
+ */
+public enum CountStrategy {
+
+    /**
+     * {@code COUNT(*)} on every request.
+     */
+    EXACT,
+
+    /**
+     * {@code COUNT(*)} cached per filter for a short TTL.
+     */
+    CACHED,
+
+    /**
+     * Planner row estimate; falls back to {@link #EXACT} where the database cannot provide one.
+     */
+    ESTIMATED
+}
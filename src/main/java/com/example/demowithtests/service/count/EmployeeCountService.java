@@ -0,0 +1,16 @@
+package com.example.demowithtests.service.count;
+
+import com.example.demowithtests.dto.TotalCountDto;
+
+public interface EmployeeCountService {
+
+    /**
+     * Counts all employees, as {@code findAll(Pageable)} pages over them.
+     */
+    TotalCountDto countAll(CountStrategy strategy);
+
+    /**
+     * Counts employees whose country contains the given text.
+     */
+    TotalCountDto countByCountryContaining(String country, CountStrategy strategy);
+}
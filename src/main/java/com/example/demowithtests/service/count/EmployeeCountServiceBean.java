@@ -0,0 +1,100 @@
+package com.example.demowithtests.service.count;
+
+import com.example.demowithtests.dto.TotalCountDto;
+import com.example.demowithtests.repository.EmployeeRepository;
+import com.example.demowithtests.util.DatabasePlatform;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Service
+public class EmployeeCountServiceBean implements EmployeeCountService {
+
+    private static final String RELTUPLES = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'users'::regclass";
+    private static final String EXPLAIN_COUNTRY =
+            "EXPLAIN (FORMAT JSON) SELECT 1 FROM users WHERE country LIKE ? ESCAPE '\\'";
+
+    private final EmployeeRepository employeeRepository;
+    private final DatabasePlatform databasePlatform;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Long> counts;
+
+    public EmployeeCountServiceBean(EmployeeRepository employeeRepository,
+                                    DatabasePlatform databasePlatform,
+                                    DataSource dataSource,
+                                    ObjectMapper objectMapper,
+                                    @Value("${app.count.cache-ttl:30s}") Duration cacheTtl) {
+        this.employeeRepository = employeeRepository;
+        this.databasePlatform = databasePlatform;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(10_000)
+                .build();
+    }
+
+    @Override
+    public TotalCountDto countAll(CountStrategy strategy) {
+        return count("all", strategy, employeeRepository::count, this::estimateAll);
+    }
+
+    @Override
+    public TotalCountDto countByCountryContaining(String country, CountStrategy strategy) {
+        return count("country:" + country, strategy,
+                () -> employeeRepository.countByCountryContaining(country),
+                () -> estimateByCountry(country));
+    }
+
+    private TotalCountDto count(String key, CountStrategy strategy, LongSupplier exact, LongSupplier estimate) {
+        switch (strategy) {
+            case CACHED:
+                return new TotalCountDto(counts.get(key, k -> exact.getAsLong()), CountStrategy.CACHED);
+            case ESTIMATED:
+                if (databasePlatform.isPostgres()) {
+                    try {
+                        long estimated = estimate.getAsLong();
+                        if (estimated >= 0) {
+                            return new TotalCountDto(estimated, CountStrategy.ESTIMATED);
+                        }
+                    } catch (DataAccessException | IllegalStateException e) {
+                        log.warn("count() - estimate failed, counting exactly: key = {}", key, e);
+                    }
+                }
+                return new TotalCountDto(exact.getAsLong(), CountStrategy.EXACT);
+            default:
+                return new TotalCountDto(exact.getAsLong(), CountStrategy.EXACT);
+        }
+    }
+
+    /**
+     * @return table row estimate of the last ANALYZE, -1 when the table was never analyzed
+     */
+    private long estimateAll() {
+        Long reltuples = jdbcTemplate.queryForObject(RELTUPLES, Long.class);
+        return reltuples == null ? -1 : reltuples;
+    }
+
+    private long estimateByCountry(String country) {
+        String pattern = "%" + country.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        String plan = jdbcTemplate.queryForObject(EXPLAIN_COUNTRY, String.class, pattern);
+        try {
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : -1;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable EXPLAIN output", e);
+        }
+    }
+}
@@ -8,6 +8,8 @@ public interface DocumentService {
 
     Document getById(Integer id);
 
+    boolean exists(Integer id);
+
     Document handlePassport(Integer id);
 
     Document addImage(Integer passportId, Integer imageId);
@@ -34,6 +34,11 @@ public class DocumentServiceBean implements DocumentService {
         return documentRepository.findById(id).orElseThrow();
     }
 
+    @Override
+    public boolean exists(Integer id) {
+        return documentRepository.existsById(id);
+    }
+
     /**
      * @param id
      * @return
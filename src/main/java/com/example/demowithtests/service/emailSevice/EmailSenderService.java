@@ -1,8 +1,20 @@
 package com.example.demowithtests.service.emailSevice;
 
+import com.example.demowithtests.dto.EmailMessageDto;
 import org.springframework.mail.MailException;
 
+import java.util.List;
+import java.util.Map;
+
 public interface EmailSenderService {
 
     void sendEmail(String toEmail, String subject, String body) throws MailException;
+
+    /**
+     * Sends the messages over as few SMTP sessions as the messages-per-connection cap allows, each session pays
+     * for STARTTLS and AUTH once. A failed message does not stop the others.
+     *
+     * @return failures by the index of the message in {@code messages}, empty when the server accepted all
+     */
+    Map<Integer, Exception> sendEmails(List<EmailMessageDto> messages);
 }
@@ -1,18 +1,36 @@
 package com.example.demowithtests.service.emailSevice;
 
-import lombok.AllArgsConstructor;
+import com.example.demowithtests.dto.EmailMessageDto;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Log4j2
-@AllArgsConstructor
 @Service
 public class EmailSenderServiceBean implements EmailSenderService {
 
     private final JavaMailSender mailSender;
+    private final int messagesPerConnection;
+
+    public EmailSenderServiceBean(JavaMailSender mailSender,
+                                  @Value("${app.mail.messages-per-connection:100}") int messagesPerConnection) {
+        this.mailSender = mailSender;
+        this.messagesPerConnection = messagesPerConnection;
+    }
 
     @Override
     public void sendEmail(String toEmail, String subject, String body) throws MailException {
@@ -24,4 +42,55 @@ public class EmailSenderServiceBean implements EmailSenderService {
         mailSender.send(message);
         log.info("Mail to {} sent successfully", toEmail);
     }
+
+    /**
+     * Every chunk of up to messages-per-connection messages goes to {@link JavaMailSender#send(MimeMessage...)},
+     * which connects once and sends the whole array over that transport. MIME messages are used instead of
+     * {@link SimpleMailMessage} because the failures come back keyed by message, and MIME messages compare by
+     * identity, so two equal messages still map back to their own index.
+     */
+    @Override
+    public Map<Integer, Exception> sendEmails(List<EmailMessageDto> messages) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        for (int from = 0; from < messages.size(); from += messagesPerConnection) {
+            int to = Math.min(from + messagesPerConnection, messages.size());
+            Map<MimeMessage, Integer> indexes = new IdentityHashMap<>(to - from);
+            List<MimeMessage> session = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                try {
+                    MimeMessage mimeMessage = toMimeMessage(messages.get(i));
+                    indexes.put(mimeMessage, i);
+                    session.add(mimeMessage);
+                } catch (MessagingException e) {
+                    failures.put(i, e);
+                }
+            }
+            if (session.isEmpty()) {
+                continue;
+            }
+            try {
+                mailSender.send(session.toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    indexes.values().forEach(index -> failures.put(index, e));
+                } else {
+                    e.getFailedMessages().forEach((message, error) -> failures.put(indexes.get(message), error));
+                }
+            } catch (MailException e) {
+                // authentication failed, nothing of this session was sent
+                indexes.values().forEach(index -> failures.put(index, e));
+            }
+        }
+        log.info("sendEmails() - end: messages = {}, failed = {}", messages.size(), failures.size());
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(EmailMessageDto message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, StandardCharsets.UTF_8.name());
+        helper.setTo(message.recipient());
+        helper.setSubject(message.subject());
+        helper.setText(message.body());
+        return mimeMessage;
+    }
 }
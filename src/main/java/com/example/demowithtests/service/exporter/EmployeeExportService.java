@@ -0,0 +1,17 @@
+package com.example.demowithtests.service.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface EmployeeExportService {
+
+    /**
+     * Writes every non-deleted employee with its addresses as one JSON object per line.
+     */
+    void exportNdjson(OutputStream out) throws IOException;
+
+    /**
+     * Writes every non-deleted employee as CSV with the columns id, name, country, email, gender.
+     */
+    void exportCsv(OutputStream out) throws IOException;
+}
@@ -0,0 +1,159 @@
+package com.example.demowithtests.service.exporter;
+
+import com.example.demowithtests.domain.Gender;
+import com.example.demowithtests.dto.AddressDto;
+import com.example.demowithtests.dto.EmployeeDto;
+import com.example.demowithtests.util.Csv;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Streams employees straight from a JDBC cursor to the response. Rows are read {@code fetchSize} at a time
+ * (PostgreSQL only uses a cursor inside a transaction, hence the read-only transaction) and no entities
+ * are created, so heap use stays flat for any table size.
+ */
+@Slf4j
+@Service
+public class EmployeeExportServiceBean implements EmployeeExportService {
+
+    private static final String SELECT_WITH_ADDRESSES = """
+            SELECT u.id, u.name, u.country, u.email, u.gender,
+                   a.id AS address_id, a.address_has_active, a.country AS address_country, a.city, a.street
+            FROM users u
+            LEFT JOIN addresses a ON a.employee_id = u.id
+            WHERE u.is_deleted = false
+            ORDER BY u.id, a.id DESC""";
+
+    private static final String SELECT_EMPLOYEES =
+            "SELECT id, name, country, email, gender FROM users WHERE is_deleted = false ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter employeeWriter;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeExportServiceBean(DataSource dataSource,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper,
+                                     @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.employeeWriter = objectMapper.writerFor(EmployeeDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void exportNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            EmployeeRowCollector collector = new EmployeeRowCollector(employee -> {
+                try {
+                    employeeWriter.writeValue(generator, employee);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            query(SELECT_WITH_ADDRESSES, collector);
+            collector.finish();
+            generator.writeRaw('\n');
+        }
+    }
+
+    @Override
+    public void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Csv.writeRecord(writer, "id", "name", "country", "email", "gender");
+        query(SELECT_EMPLOYEES, resultSet -> {
+            try {
+                Csv.writeRecord(writer, resultSet.getInt("id"), resultSet.getString("name"),
+                        resultSet.getString("country"), resultSet.getString("email"), resultSet.getString("gender"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void query(String sql, RowCallbackHandler handler) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, handler));
+        } catch (UncheckedIOException e) {
+            // usually the client went away mid-download
+            log.debug("query() - export aborted: {}", e.getMessage());
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Folds the consecutive join rows of one employee into a single {@link EmployeeDto}.
+     */
+    private static final class EmployeeRowCollector implements RowCallbackHandler {
+
+        private final Consumer<EmployeeDto> sink;
+        private Integer id;
+        private String name;
+        private String country;
+        private String email;
+        private Gender gender;
+        private Set<AddressDto> addresses;
+
+        private EmployeeRowCollector(Consumer<EmployeeDto> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            int rowId = resultSet.getInt("id");
+            if (id == null || id != rowId) {
+                finish();
+                id = rowId;
+                name = resultSet.getString("name");
+                country = resultSet.getString("country");
+                email = resultSet.getString("email");
+                String genderValue = resultSet.getString("gender");
+                gender = genderValue == null ? null : Gender.valueOf(genderValue);
+                addresses = new HashSet<>();
+            }
+            long addressId = resultSet.getLong("address_id");
+            if (!resultSet.wasNull()) {
+                AddressDto address = new AddressDto();
+                address.id = addressId;
+                address.addressHasActive = (Boolean) resultSet.getObject("address_has_active");
+                address.country = resultSet.getString("address_country");
+                address.city = resultSet.getString("city");
+                address.street = resultSet.getString("street");
+                addresses.add(address);
+            }
+        }
+
+        private void finish() {
+            if (id != null) {
+                sink.accept(new EmployeeDto(id, name, country, email, null, gender, addresses));
+                id = null;
+            }
+        }
+    }
+}
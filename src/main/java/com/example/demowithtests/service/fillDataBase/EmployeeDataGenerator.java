@@ -0,0 +1,205 @@
+package com.example.demowithtests.service.fillDataBase;
+
+import com.example.demowithtests.domain.Address;
+import com.example.demowithtests.domain.Document;
+import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.domain.Gender;
+import com.example.demowithtests.domain.History;
+import com.github.javafaker.Faker;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Generates synthetic employees in fixed-size shards on a thread pool.
+ * <p>
+ * Shard boundaries depend only on the row count and every shard seeds its own {@link Faker}
+ * from (seed, shard index), so the generated rows are the same for any number of threads.
+ * Shards are handed out in order and only {@code parallelism} shards are generated ahead of the consumer,
+ * which keeps memory bounded for any row count.
+ * <p>
+ * Document numbers are unique in the database, so they carry the run id next to the row number: every run repeats
+ * the same rows, but a second run with the same seed does not collide with the first.
+ */
+public class EmployeeDataGenerator {
+
+    static final int SHARD_SIZE = 5_000;
+
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final GenerationSettings settings;
+    private final String runId;
+    private final Executor executor;
+    private final int parallelism;
+    private final WeightedChoice<String> countries;
+    private final WeightedChoice<Gender> genders;
+
+    /**
+     * @param runId distinguishes the document numbers of this run from those of earlier runs
+     */
+    public EmployeeDataGenerator(GenerationSettings settings, String runId, Executor executor, int parallelism) {
+        this.settings = settings;
+        this.runId = runId;
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+        this.countries = settings.countries().isEmpty() ? null : new WeightedChoice<>(settings.countries());
+        this.genders = settings.genders().isEmpty() ? null : new WeightedChoice<>(settings.genders());
+    }
+
+    /**
+     * @return lazily generated employees in row order; closing the stream cancels shards still in progress
+     */
+    public Stream<Employee> generate() {
+        ShardIterator shards = new ShardIterator((settings.rows() + SHARD_SIZE - 1) / SHARD_SIZE);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(shards, Spliterator.ORDERED), false)
+                .onClose(shards::cancel)
+                .flatMap(List::stream);
+    }
+
+    List<Employee> generateShard(long shard) {
+        long first = shard * SHARD_SIZE;
+        long last = Math.min(settings.rows(), first + SHARD_SIZE);
+        Random random = new Random(shardSeed(settings.seed(), shard));
+        Faker faker = new Faker(new Locale("en"), random);
+
+        List<Employee> employees = new ArrayList<>((int) (last - first));
+        for (long row = first; row < last; row++) {
+            employees.add(createEmployee(faker, random, row));
+        }
+        return employees;
+    }
+
+    private Employee createEmployee(Faker faker, Random random, long row) {
+        String name = faker.name().name();
+        String country = countries == null ? faker.country().name() : countries.pick(random);
+        Gender gender = genders == null ? Gender.values()[random.nextInt(Gender.values().length)] : genders.pick(random);
+
+        Set<Address> addresses = new HashSet<>();
+        for (int i = 0; i < settings.addressesPerEmployee(); i++) {
+            addresses.add(Address
+                    .builder()
+                    .addressHasActive(Boolean.TRUE)
+                    .country(country)
+                    .city(faker.address().city())
+                    .street(faker.address().streetAddress())
+                    .build());
+        }
+
+        return Employee
+                .builder()
+                .name(name)
+                .country(country)
+                .email(name.toLowerCase().replaceAll("[^a-z0-9]", "") + row + "@mail.com")
+                .gender(gender)
+                .addresses(addresses)
+                .document(random.nextDouble() < settings.documentRatio() ? createDocument(random, row) : null)
+                .isDeleted(Boolean.FALSE)
+                .build();
+    }
+
+    private Document createDocument(Random random, long row) {
+        Document document = Document
+                .builder()
+                .number("DOC-" + runId + "-" + row)
+                .uuid(new UUID(random.nextLong(), random.nextLong()).toString())
+                .expireDate(BASE_DATE.plusDays(random.nextInt(5 * 365)))
+                .isHandled(random.nextBoolean())
+                .build();
+        if (random.nextDouble() < settings.historyRatio()) {
+            History history = History
+                    .builder()
+                    .description("The document was assigned during data generation")
+                    .dateAndTime(document.getExpireDate().minusYears(5))
+                    .document(document)
+                    .build();
+            document.setHistory(new ArrayList<>(List.of(history)));
+        }
+        return document;
+    }
+
+    /**
+     * SplitMix64 finalizer over (seed, shard), so neighbouring shards get unrelated random streams.
+     */
+    static long shardSeed(long seed, long shard) {
+        long z = seed + (shard + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private final class ShardIterator implements Iterator<List<Employee>> {
+
+        private final long shards;
+        private final Deque<CompletableFuture<List<Employee>>> pending = new ArrayDeque<>();
+        private long submitted;
+
+        private ShardIterator(long shards) {
+            this.shards = shards;
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public List<Employee> next() {
+            fill();
+            if (pending.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            List<Employee> shard = pending.poll().join();
+            // keep the window full while the consumer is busy with this shard
+            fill();
+            return shard;
+        }
+
+        private void fill() {
+            while (pending.size() < parallelism && submitted < shards) {
+                long shard = submitted++;
+                pending.add(CompletableFuture.supplyAsync(() -> generateShard(shard), executor));
+            }
+        }
+
+        private void cancel() {
+            pending.forEach(future -> future.cancel(true));
+            pending.clear();
+        }
+    }
+
+    /**
+     * Picks keys proportionally to their weights. Keys are sorted first, so the insertion order
+     * of the weight map does not affect the generated data.
+     */
+    private static final class WeightedChoice<T> {
+
+        private final List<T> values = new ArrayList<>();
+        private final double[] cumulative;
+
+        private WeightedChoice(Map<T, Double> weights) {
+            TreeMap<T, Double> sorted = new TreeMap<>(weights);
+            cumulative = new double[sorted.size()];
+            double total = 0;
+            for (Map.Entry<T, Double> entry : sorted.entrySet()) {
+                total += entry.getValue();
+                cumulative[values.size()] = total;
+                values.add(entry.getKey());
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("At least one weight must be positive: " + weights);
+            }
+        }
+
+        private T pick(Random random) {
+            double point = random.nextDouble() * cumulative[cumulative.length - 1];
+            int index = Arrays.binarySearch(cumulative, point);
+            index = index >= 0 ? index + 1 : -index - 1;
+            return values.get(Math.min(index, values.size() - 1));
+        }
+    }
+}
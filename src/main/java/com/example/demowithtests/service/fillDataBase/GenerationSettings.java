@@ -0,0 +1,61 @@
+package com.example.demowithtests.service.fillDataBase;
+
+import com.example.demowithtests.domain.Gender;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Parameters of a synthetic data set. The same settings (including the seed) always produce the same rows.
+ *
+ * @param rows                 number of employees to generate
+ * @param seed                 base seed, every shard derives its own seed from it
+ * @param addressesPerEmployee addresses attached to each employee
+ * @param documentRatio        share of employees that get a document, from 0 to 1
+ * @param historyRatio         share of documents that get an assignment history record, from 0 to 1
+ * @param countries            relative weights of employee countries, random Faker countries when empty
+ * @param genders              relative weights of genders, uniform when empty
+ */
+public record GenerationSettings(long rows,
+                                 long seed,
+                                 int addressesPerEmployee,
+                                 double documentRatio,
+                                 double historyRatio,
+                                 Map<String, Double> countries,
+                                 Map<Gender, Double> genders) {
+
+    public GenerationSettings {
+        if (rows < 0) {
+            throw new IllegalArgumentException("rows must not be negative");
+        }
+        if (addressesPerEmployee < 0) {
+            throw new IllegalArgumentException("addressesPerEmployee must not be negative");
+        }
+        if (documentRatio < 0 || documentRatio > 1 || historyRatio < 0 || historyRatio > 1) {
+            throw new IllegalArgumentException("documentRatio and historyRatio must be between 0 and 1");
+        }
+        countries = countries == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(countries));
+        genders = genders == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(genders));
+    }
+
+    /**
+     * Parses a weight list such as {@code "Ukraine:3,Poland:1"}. A missing weight counts as 1.
+     */
+    public static <K> Map<K, Double> parseWeights(String weights, Function<String, K> keyParser) {
+        Map<K, Double> result = new LinkedHashMap<>();
+        if (weights == null || weights.isBlank()) {
+            return result;
+        }
+        for (String entry : weights.split(",")) {
+            String[] parts = entry.split(":");
+            double weight = parts.length > 1 ? Double.parseDouble(parts[1].trim()) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative: " + entry);
+            }
+            result.put(keyParser.apply(parts[0].trim()), weight);
+        }
+        return result;
+    }
+}
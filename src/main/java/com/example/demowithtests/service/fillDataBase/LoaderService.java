@@ -1,8 +1,18 @@
 package com.example.demowithtests.service.fillDataBase;
 
+import com.example.demowithtests.dto.IngestionReportDto;
+import com.example.demowithtests.service.job.JobContext;
+
 public interface LoaderService {
 
-    void generateData();
+    default IngestionReportDto generateData(GenerationSettings settings) {
+        return generateData(settings, JobContext.NONE);
+    }
+
+    /**
+     * Same as {@link #generateData(GenerationSettings)}, the job context counts generated employees.
+     */
+    IngestionReportDto generateData(GenerationSettings settings, JobContext context);
 
     long count();
 }
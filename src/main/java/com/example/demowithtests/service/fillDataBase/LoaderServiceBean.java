@@ -1,14 +1,19 @@
 package com.example.demowithtests.service.fillDataBase;
 
-import com.example.demowithtests.domain.Address;
 import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.dto.IngestionReportDto;
 import com.example.demowithtests.repository.EmployeeRepository;
-import com.github.javafaker.Faker;
+import com.example.demowithtests.service.autocomplete.NameAutocompleteService;
+import com.example.demowithtests.service.cache.EmployeeReadCache;
+import com.example.demowithtests.service.ingestion.BulkIngestionService;
+import com.example.demowithtests.service.job.JobContext;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 @Slf4j
 @AllArgsConstructor
@@ -16,14 +21,29 @@ import java.util.*;
 public class LoaderServiceBean implements LoaderService {
 
     private final EmployeeRepository employeeRepository;
+    private final BulkIngestionService bulkIngestionService;
+    private final NameAutocompleteService nameAutocompleteService;
+    private final EmployeeReadCache employeeReadCache;
 
     /**
+     * Generates the data set shard by shard on the common pool and streams it into the bulk ingestion write path.
      *
+     * @param settings size and shape of the data set
+     * @param context  progress of the run, one unit per employee
+     * @return ingestion report of the run
      */
     @Override
-    public void generateData() {
-        List<Employee> employees = createListEmployees();
-        employeeRepository.saveAll(employees);
+    public IngestionReportDto generateData(GenerationSettings settings, JobContext context) {
+        log.info("generateData() - start: settings = {}", settings);
+        context.total(settings.rows());
+        EmployeeDataGenerator generator = new EmployeeDataGenerator(settings, UUID.randomUUID().toString(),
+                ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+        try (Stream<Employee> employees = generator.generate()) {
+            return bulkIngestionService.ingest(employees, context);
+        } finally {
+            nameAutocompleteService.rebuildAsync();
+            employeeReadCache.evictAll();
+        }
     }
 
     /**
@@ -33,32 +53,4 @@ public class LoaderServiceBean implements LoaderService {
     public long count() {
         return employeeRepository.count();
     }
-
-    public List<Employee> createListEmployees() {
-
-        List<Employee> employees = new ArrayList<>();
-        long seed = 1;
-
-        Faker faker = new Faker(new Locale("en"), new Random(seed));
-        for (int i = 0; i < 2_000; i++) {
-
-            String name = faker.name().name();
-            String country = faker.country().name();
-            String email = faker.name().name();
-
-            Set<Address> addresses = Set.copyOf(Arrays.asList(new Address(), new Address()));
-
-            Employee employee = Employee
-                    .builder()
-                    .name(name)
-                    .country(country)
-                    .email(email.toLowerCase().replaceAll(" ", "") + "@mail.com")
-                    .addresses(addresses)
-                    .build();
-
-            employees.add(employee);
-        }
-
-        return employees;
-    }
 }
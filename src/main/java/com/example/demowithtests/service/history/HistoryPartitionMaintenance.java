@@ -0,0 +1,127 @@
+package com.example.demowithtests.service.history;
+
+import com.example.demowithtests.util.DatabasePlatform;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of the history table: creates the coming months ahead of time and drops whole
+ * partitions once they are older than the retention, which replaces row deletes. PostgreSQL only, the H2 schema
+ * of the tests is not partitioned.
+ */
+@Slf4j
+@Component
+public class HistoryPartitionMaintenance {
+
+    private static final Pattern PARTITION = Pattern.compile("history_p(\\d{4})_(\\d{2})");
+    private static final String PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                    + "WHERE i.inhparent = 'history'::regclass";
+
+    private final DatabasePlatform databasePlatform;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Duration interval;
+
+    private ScheduledExecutorService scheduler;
+
+    public HistoryPartitionMaintenance(DatabasePlatform databasePlatform,
+                                       DataSource dataSource,
+                                       @Value("${app.history.partitions.enabled:true}") boolean enabled,
+                                       @Value("${app.history.partitions.months-ahead:3}") int monthsAhead,
+                                       @Value("${app.history.partitions.retention-months:24}") int retentionMonths,
+                                       @Value("${app.history.partitions.interval:1d}") Duration interval) {
+        this.databasePlatform = databasePlatform;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || !databasePlatform.isPostgres()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "history-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::maintain, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Moves rows out of the default partition into monthly partitions of their own (the data generator and bulk
+     * imports write dates without a partition), creates the current month and the months ahead, then drops the
+     * expired partitions.
+     * <p>
+     * The default partition is emptied first: creating a partition for a month that still has rows in the default
+     * partition fails, and would fail every later run as well.
+     *
+     * @return names of the dropped partitions
+     */
+    public List<String> maintain() {
+        try {
+            Integer moved = jdbcTemplate.queryForObject("SELECT history_split_default()", Integer.class);
+            if (moved != null && moved > 0) {
+                log.info("maintain() - moved {} history records out of the default partition", moved);
+            }
+            jdbcTemplate.execute("SELECT history_create_partitions(date_trunc('month', now())::date, "
+                    + (monthsAhead + 1) + ")");
+            List<String> expired = expiredPartitions(jdbcTemplate.queryForList(PARTITIONS, String.class),
+                    YearMonth.now(), retentionMonths);
+            for (String partition : expired) {
+                // detaching first keeps the lock on the parent short, the drop then only touches the detached table
+                jdbcTemplate.execute("ALTER TABLE history DETACH PARTITION \"" + partition + "\"");
+                jdbcTemplate.execute("DROP TABLE \"" + partition + "\"");
+                log.info("maintain() - dropped expired history partition {}", partition);
+            }
+            return expired;
+        } catch (DataAccessException e) {
+            log.error("maintain() - history partition maintenance failed", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * @return monthly partitions that lie completely before {@code now} minus the retention, other names are ignored
+     */
+    public static List<String> expiredPartitions(List<String> partitions, YearMonth now, int retentionMonths) {
+        YearMonth oldestKept = now.minusMonths(retentionMonths);
+        return partitions.stream()
+                .filter(name -> {
+                    Matcher matcher = PARTITION.matcher(name);
+                    return matcher.matches() && YearMonth.of(Integer.parseInt(matcher.group(1)),
+                            Integer.parseInt(matcher.group(2))).isBefore(oldestKept);
+                })
+                .sorted()
+                .toList();
+    }
+}
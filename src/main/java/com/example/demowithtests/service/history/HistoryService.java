@@ -2,8 +2,24 @@ package com.example.demowithtests.service.history;
 
 import com.example.demowithtests.domain.Document;
 import com.example.demowithtests.domain.History;
+import com.example.demowithtests.dto.HistoryDto;
+import com.example.demowithtests.dto.KeysetSliceDto;
 
 public interface HistoryService {
     History create(History history);
     History create(String description, Document document);
+
+    /**
+     * Records a history entry without returning it. In durable mode it is saved in the caller's transaction;
+     * in write-behind mode it is queued once the caller's transaction committed and inserted in a later batch.
+     */
+    void record(String description, Document document);
+
+    /**
+     * Keyset page over the history of a document, newest first.
+     *
+     * @param token nextToken of the previous page, null for the first page
+     * @throws IllegalArgumentException when the token is malformed or the size is out of range
+     */
+    KeysetSliceDto<HistoryDto> findPage(Integer documentId, String token, int size);
 }
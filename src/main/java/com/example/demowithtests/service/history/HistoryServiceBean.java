@@ -2,17 +2,36 @@ package com.example.demowithtests.service.history;
 
 import com.example.demowithtests.domain.Document;
 import com.example.demowithtests.domain.History;
+import com.example.demowithtests.dto.HistoryDto;
+import com.example.demowithtests.dto.KeysetSliceDto;
 import com.example.demowithtests.repository.HistoryRepository;
-import lombok.AllArgsConstructor;
+import com.example.demowithtests.util.HistoryCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
-@AllArgsConstructor
 public class HistoryServiceBean implements HistoryService{
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final HistoryRepository historyRepository;
+    private final HistoryWriteBehindQueue writeBehindQueue;
+    private final boolean writeBehind;
+
+    public HistoryServiceBean(HistoryRepository historyRepository,
+                              HistoryWriteBehindQueue writeBehindQueue,
+                              @Value("${app.history.write-behind.enabled:true}") boolean writeBehind) {
+        this.historyRepository = historyRepository;
+        this.writeBehindQueue = writeBehindQueue;
+        this.writeBehind = writeBehind;
+    }
 
     @Override
     public History create(History history) {
@@ -21,12 +40,54 @@ public class HistoryServiceBean implements HistoryService{
 
     @Override
     public History create(String description, Document document) {
-        History history = History
+        return historyRepository.save(toHistory(description, document));
+    }
+
+    @Override
+    public void record(String description, Document document) {
+        History history = toHistory(description, document);
+        if (!writeBehind) {
+            historyRepository.save(history);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a rolled back change must not leave a history record behind
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writeBehindQueue.enqueue(history);
+                }
+            });
+        } else {
+            writeBehindQueue.enqueue(history);
+        }
+    }
+
+    @Override
+    public KeysetSliceDto<HistoryDto> findPage(Integer documentId, String token, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        HistoryCursor cursor = token == null || token.isBlank() ? null : HistoryCursor.decode(token);
+        // one extra row tells whether a next page exists without counting
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<HistoryDto> rows = cursor == null
+                ? historyRepository.findLatestByDocument(documentId, limit)
+                : historyRepository.findByDocumentBefore(documentId, cursor.lastTime(), cursor.lastId(), limit);
+        boolean hasNext = rows.size() > size;
+        List<HistoryDto> content = hasNext ? rows.subList(0, size) : rows;
+        String nextToken = null;
+        if (hasNext) {
+            HistoryDto last = content.get(content.size() - 1);
+            nextToken = new HistoryCursor(last.dateAndTime(), last.id()).encode();
+        }
+        return new KeysetSliceDto<>(content, size, hasNext, nextToken);
+    }
+
+    private static History toHistory(String description, Document document) {
+        return History
                 .builder()
                 .description(description)
                 .document(document)
                 .dateAndTime(LocalDateTime.now())
                 .build();
-        return historyRepository.save(history);
     }
 }
@@ -0,0 +1,169 @@
+package com.example.demowithtests.service.history;
+
+import com.example.demowithtests.domain.History;
+import com.example.demowithtests.repository.HistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for history records: callers put records into a bounded queue and one flusher thread inserts
+ * them with {@code saveAll} in batches, one transaction per batch. A batch is written when it reaches the batch size
+ * or when its oldest record waited for the flush interval.
+ * <p>
+ * A full queue pushes back: the caller waits up to the offer timeout for space and then writes its record itself,
+ * so records are never dropped for lack of space. That write runs in a new transaction: records are enqueued from
+ * {@code afterCommit}, where the caller's resources are still bound but its transaction is already committed.
+ * Records still queued at shutdown are flushed before the context closes; a crash loses them, use the durable mode
+ * when that is not acceptable.
+ */
+@Slf4j
+@Component
+public class HistoryWriteBehindQueue {
+
+    private final HistoryRepository historyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate overflowTransaction;
+    private final BlockingQueue<History> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final Counter overflows;
+    private final Timer flushes;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public HistoryWriteBehindQueue(HistoryRepository historyRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                   @Value("${app.history.write-behind.capacity:10000}") int capacity,
+                                   @Value("${app.history.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${app.history.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                   @Value("${app.history.write-behind.offer-timeout:100ms}") Duration offerTimeout) {
+        this.historyRepository = historyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.overflowTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.overflowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("history.write-behind.queue", queue, BlockingQueue::size).register(registry);
+            this.overflows = Counter.builder("history.write-behind.overflow")
+                    .description("records written by the caller because the queue stayed full")
+                    .register(registry);
+            this.flushes = Timer.builder("history.write-behind.flush").register(registry);
+        } else {
+            this.overflows = null;
+            this.flushes = null;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "history-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Waits until the flusher has written the records still queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    public void enqueue(History history) {
+        boolean queued;
+        try {
+            queued = queue.offer(history, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            if (overflows != null) {
+                overflows.increment();
+            }
+            log.debug("enqueue() - queue full, writing on the caller thread: size = {}", queue.size());
+            overflowTransaction.executeWithoutResult(status -> historyRepository.save(history));
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    private void flushLoop() {
+        List<History> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                History first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    History next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // only stop() ends the loop, the queue must be drained first
+                log.warn("flushLoop() - interrupted, {} records queued", queue.size());
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<History> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> historyRepository.saveAll(batch));
+        } catch (RuntimeException e) {
+            log.error("flush() - {} history records lost", batch.size(), e);
+            return;
+        }
+        if (flushes != null) {
+            flushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        log.debug("flush() - records = {}", batch.size());
+    }
+}
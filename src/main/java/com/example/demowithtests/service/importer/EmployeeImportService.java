@@ -0,0 +1,19 @@
+package com.example.demowithtests.service.importer;
+
+import com.example.demowithtests.dto.ImportReportDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface EmployeeImportService {
+
+    /**
+     * Imports newline-delimited JSON, one {@link com.example.demowithtests.dto.EmployeeDto} per line.
+     */
+    ImportReportDto importNdjson(InputStream body) throws IOException;
+
+    /**
+     * Imports CSV with a header line naming the columns (name, country, email, gender).
+     */
+    ImportReportDto importCsv(InputStream body) throws IOException;
+}
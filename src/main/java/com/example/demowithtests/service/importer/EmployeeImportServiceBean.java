@@ -0,0 +1,259 @@
+package com.example.demowithtests.service.importer;
+
+import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.domain.Gender;
+import com.example.demowithtests.dto.EmployeeDto;
+import com.example.demowithtests.dto.ImportErrorDto;
+import com.example.demowithtests.dto.ImportReportDto;
+import com.example.demowithtests.service.autocomplete.NameAutocompleteService;
+import com.example.demowithtests.service.cache.EmployeeReadCache;
+import com.example.demowithtests.service.ingestion.BulkIngestionService;
+import com.example.demowithtests.util.Csv;
+import com.example.demowithtests.util.annotations.entity.EntityFormatting;
+import com.example.demowithtests.util.mappers.EmployeeMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the upload line by line in fixed-size batches: every batch is parsed, validated and normalized in parallel
+ * and then written through {@link BulkIngestionService} in its own transaction. Memory use depends on the batch size
+ * only, not on the size of the upload.
+ * <p>
+ * A batch must fit into one ingestion chunk: the ingestion commits chunk by chunk, and a batch that is retried after
+ * a failure must not have committed any of its lines before.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeImportServiceBean implements EmployeeImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EmployeeMapper employeeMapper;
+    private final BulkIngestionService bulkIngestionService;
+    private final NameAutocompleteService nameAutocompleteService;
+    private final EmployeeReadCache employeeReadCache;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.ingestion.chunk-size:5000}")
+    private int ingestionChunkSize;
+
+    @PostConstruct
+    void checkBatchSize() {
+        if (batchSize > ingestionChunkSize) {
+            throw new IllegalStateException("app.import.batch-size (" + batchSize
+                    + ") must not exceed app.ingestion.chunk-size (" + ingestionChunkSize + ")");
+        }
+    }
+
+    @Override
+    public ImportReportDto importNdjson(InputStream body) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(EmployeeDto.class);
+        return importLines(toReader(body), 0, reader::readValue);
+    }
+
+    @Override
+    public ImportReportDto importCsv(InputStream body) throws IOException {
+        BufferedReader reader = toReader(body);
+        String header = reader.readLine();
+        if (header == null) {
+            return new ImportState().toReport();
+        }
+        List<String> columns = Csv.split(header).stream()
+                .map(column -> column == null ? "" : column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int name = columns.indexOf("name");
+        int country = columns.indexOf("country");
+        int email = columns.indexOf("email");
+        int gender = columns.indexOf("gender");
+
+        return importLines(reader, 1, line -> {
+            List<String> fields = Csv.split(line);
+            String genderValue = field(fields, gender);
+            return new EmployeeDto(null, field(fields, name), field(fields, country), field(fields, email), null,
+                    genderValue == null ? null : Gender.valueOf(genderValue.trim().toUpperCase(Locale.ROOT)), null);
+        });
+    }
+
+    private ImportReportDto importLines(BufferedReader reader, long linesBefore, LineParser parser) throws IOException {
+        ImportState state = new ImportState();
+        List<NumberedLine> batch = new ArrayList<>(batchSize);
+        long number = linesBefore;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            if (line.isBlank()) {
+                continue;
+            }
+            batch.add(new NumberedLine(number, line));
+            if (batch.size() == batchSize) {
+                writeBatch(batch, parser, state);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, parser, state);
+        }
+        if (state.imported > 0) {
+            nameAutocompleteService.rebuildAsync();
+            employeeReadCache.evictAll();
+        }
+        ImportReportDto report = state.toReport();
+        log.info("importLines() - end: lines = {}, imported = {}, rejected = {}",
+                report.lines(), report.imported(), report.rejected());
+        return report;
+    }
+
+    private void writeBatch(List<NumberedLine> batch, LineParser parser, ImportState state) {
+        List<ParsedLine> parsed = batch.parallelStream()
+                .map(line -> parse(line, parser))
+                .toList();
+
+        List<ParsedLine> accepted = new ArrayList<>(parsed.size());
+        for (ParsedLine line : parsed) {
+            state.lines++;
+            if (line.error() != null) {
+                state.reject(line.number(), line.error());
+            } else {
+                accepted.add(line);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        write(accepted, state);
+    }
+
+    /**
+     * Writes the lines in one ingestion call, which is one chunk and so one transaction. When the database rejects
+     * the write, e.g. for a street longer than its column, the lines are split in halves and written again, so only
+     * the offending lines are rejected.
+     */
+    private void write(List<ParsedLine> lines, ImportState state) {
+        try {
+            bulkIngestionService.ingest(lines.stream().map(ParsedLine::employee));
+            state.imported += lines.size();
+        } catch (RuntimeException e) {
+            // the failed write rolled back, but may have assigned ids
+            lines.forEach(line -> clearIds(line.employee()));
+            if (lines.size() == 1) {
+                log.debug("write() - line rejected by the database: line = {}", lines.get(0).number(), e);
+                state.reject(lines.get(0).number(), "Write failed: " + rootMessage(e));
+                return;
+            }
+            log.debug("write() - write failed, splitting: lines {}..{}", lines.get(0).number(),
+                    lines.get(lines.size() - 1).number());
+            int half = lines.size() / 2;
+            write(lines.subList(0, half), state);
+            write(lines.subList(half, lines.size()), state);
+        }
+    }
+
+    private ParsedLine parse(NumberedLine line, LineParser parser) {
+        EmployeeDto dto;
+        try {
+            dto = parser.parse(line.text());
+        } catch (Exception e) {
+            return new ParsedLine(line.number(), null, "Unreadable record: " + e.getMessage());
+        }
+        if (dto == null) {
+            return new ParsedLine(line.number(), null, "Empty record");
+        }
+        Set<ConstraintViolation<EmployeeDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new ParsedLine(line.number(), null, message);
+        }
+
+        if (dto.country() == null || dto.country().isBlank()) {
+            // enforced by the users country trigger, which would fail the whole batch
+            return new ParsedLine(line.number(), null, "country: must not be blank");
+        }
+
+        Employee employee = employeeMapper.toEmployee(dto);
+        // ids are always assigned by the ingestion, and the @Name/@ToLowerCase rules are applied without reflection
+        clearIds(employee);
+        employee.setName(EntityFormatting.toNameFormat(employee.getName()));
+        employee.setEmail(EntityFormatting.toLowerCase(employee.getEmail()));
+        employee.setIsDeleted(Boolean.FALSE);
+        return new ParsedLine(line.number(), employee, null);
+    }
+
+    private static void clearIds(Employee employee) {
+        employee.setId(null);
+        if (employee.getAddresses() != null) {
+            employee.getAddresses().forEach(address -> address.setId(null));
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private static BufferedReader toReader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < 0 || index >= fields.size() ? null : fields.get(index);
+    }
+
+    @FunctionalInterface
+    private interface LineParser {
+        EmployeeDto parse(String line) throws Exception;
+    }
+
+    private record NumberedLine(long number, String text) {
+    }
+
+    private record ParsedLine(long number, Employee employee, String error) {
+    }
+
+    private static final class ImportState {
+
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+        private long lines;
+        private long imported;
+        private long rejected;
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportErrorDto(line, message));
+            }
+        }
+
+        private ImportReportDto toReport() {
+            return new ImportReportDto(lines, imported, rejected, errors, rejected > errors.size());
+        }
+    }
+}
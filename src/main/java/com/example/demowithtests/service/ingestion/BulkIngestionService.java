@@ -0,0 +1,28 @@
+package com.example.demowithtests.service.ingestion;
+
+import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.dto.IngestionReportDto;
+import com.example.demowithtests.service.job.JobContext;
+
+import java.util.stream.Stream;
+
+public interface BulkIngestionService {
+
+    /**
+     * Writes employees together with their addresses, documents and document history in bounded chunks,
+     * one transaction per chunk.
+     * The stream is consumed lazily, so no more than one chunk is held in memory at a time.
+     *
+     * @param employees employees to insert, ids are assigned by the ingestion
+     * @return rows written, throughput and heap high-water mark of the run
+     */
+    default IngestionReportDto ingest(Stream<Employee> employees) {
+        return ingest(employees, JobContext.NONE);
+    }
+
+    /**
+     * Same as {@link #ingest(Stream)}, reporting every committed chunk to the job context as employees
+     * and written rows. A cancelled run stops after its last committed chunk.
+     */
+    IngestionReportDto ingest(Stream<Employee> employees, JobContext context);
+}
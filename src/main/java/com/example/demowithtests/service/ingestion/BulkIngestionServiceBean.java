@@ -0,0 +1,283 @@
+package com.example.demowithtests.service.ingestion;
+
+import com.example.demowithtests.domain.Address;
+import com.example.demowithtests.domain.Document;
+import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.domain.History;
+import com.example.demowithtests.dto.IngestionReportDto;
+import com.example.demowithtests.service.job.JobContext;
+import com.example.demowithtests.util.DatabasePlatform;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkIngestionServiceBean implements BulkIngestionService {
+
+    private static final String COPY_DOCUMENTS =
+            "COPY documents (id, number, uuid, expire_date, is_handled) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_USERS =
+            "COPY users (id, name, email, country, gender, is_deleted, document_id) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_ADDRESSES =
+            "COPY addresses (id, address_has_active, city, country, street, employee_id) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_HISTORY =
+            "COPY history (id, description, date_and_time, document) FROM STDIN WITH (FORMAT csv)";
+
+    /**
+     * Must match the allocationSize of the entity id generators and the increment of the sequences in V13.
+     */
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private final DataSource dataSource;
+    private final DatabasePlatform databasePlatform;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.ingestion.chunk-size:5000}")
+    private int chunkSize;
+
+    @Override
+    public IngestionReportDto ingest(Stream<Employee> employees, JobContext context) {
+        Iterator<Employee> iterator = employees.iterator();
+        IngestionProgress progress;
+        if (databasePlatform.isPostgres()) {
+            progress = new IngestionProgress("copy", context);
+            copyAll(iterator, progress);
+        } else {
+            progress = new IngestionProgress("jpa-batch", context);
+            persistAll(iterator, progress);
+        }
+        IngestionReportDto report = progress.toReport();
+        log.info("ingest() - end: report = {}", report);
+        return report;
+    }
+
+    /**
+     * PostgreSQL path: every chunk becomes up to four CSV COPY statements (documents, users, addresses, history)
+     * and one commit, in foreign key order.
+     * Ids are reserved from the same pooled sequences Hibernate uses, so both write paths can run side by side.
+     */
+    private void copyAll(Iterator<Employee> employees, IngestionProgress progress) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (IdBlocks ids = new IdBlocks(connection)) {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                List<Employee> chunk = new ArrayList<>(chunkSize);
+                while (employees.hasNext()) {
+                    chunk.add(employees.next());
+                    if (chunk.size() == chunkSize || !employees.hasNext()) {
+                        copyChunk(copyManager, chunk, ids);
+                        connection.commit();
+                        progress.chunkWritten(chunk);
+                        chunk.clear();
+                    }
+                }
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("COPY ingestion failed", e);
+        }
+    }
+
+    private void copyChunk(CopyManager copyManager, List<Employee> chunk, IdBlocks ids)
+            throws SQLException, IOException {
+        StringBuilder documents = new StringBuilder();
+        StringBuilder users = new StringBuilder(chunk.size() * 96);
+        StringBuilder addresses = new StringBuilder(chunk.size() * 128);
+        StringBuilder history = new StringBuilder();
+        for (Employee employee : chunk) {
+            Document document = employee.getDocument();
+            if (document != null) {
+                document.setId((int) ids.next("documents_seq"));
+                appendRow(documents, document.getId(), document.getNumber(), document.getUuid(),
+                        document.getExpireDate(), document.getIsHandled());
+                if (document.getHistory() != null) {
+                    for (History record : document.getHistory()) {
+                        record.setId((int) ids.next("history_seq"));
+                        appendRow(history, record.getId(), record.getDescription(), record.getDateAndTime(),
+                                document.getId());
+                    }
+                }
+            }
+            employee.setId((int) ids.next("users_seq"));
+            appendRow(users, employee.getId(), employee.getName(), employee.getEmail(), employee.getCountry(),
+                    employee.getGender(), employee.getIsDeleted(), document == null ? null : document.getId());
+            if (employee.getAddresses() != null) {
+                for (Address address : employee.getAddresses()) {
+                    address.setId(ids.next("addresses_seq"));
+                    appendRow(addresses, address.getId(), address.getAddressHasActive(), address.getCity(),
+                            address.getCountry(), address.getStreet(), employee.getId());
+                }
+            }
+        }
+        copyIn(copyManager, COPY_DOCUMENTS, documents);
+        copyIn(copyManager, COPY_USERS, users);
+        copyIn(copyManager, COPY_ADDRESSES, addresses);
+        copyIn(copyManager, COPY_HISTORY, history);
+    }
+
+    private static void copyIn(CopyManager copyManager, String sql, StringBuilder csv)
+            throws SQLException, IOException {
+        if (!csv.isEmpty()) {
+            copyManager.copyIn(sql, new StringReader(csv.toString()));
+        }
+    }
+
+    /**
+     * Portable path used on H2: plain JPA persists flushed in JDBC batches, one transaction per chunk.
+     */
+    private void persistAll(Iterator<Employee> employees, IngestionProgress progress) {
+        List<Employee> chunk = new ArrayList<>(chunkSize);
+        while (employees.hasNext()) {
+            chunk.add(employees.next());
+            if (chunk.size() == chunkSize || !employees.hasNext()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Employee employee : chunk) {
+                        entityManager.persist(employee);
+                        // history is not cascaded from the document, so it is persisted on its own
+                        if (employee.getDocument() != null && employee.getDocument().getHistory() != null) {
+                            employee.getDocument().getHistory().forEach(entityManager::persist);
+                        }
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                progress.chunkWritten(chunk);
+                chunk.clear();
+            }
+        }
+    }
+
+    /**
+     * Appends one CSV record. Nulls are written as unquoted empty fields, which COPY reads as NULL.
+     */
+    private static void appendRow(StringBuilder csv, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            if (values[i] != null) {
+                csv.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        csv.append('\n');
+    }
+
+    /**
+     * Hands out ids the same way Hibernate's pooled optimizer does: a sequence value v owns the block (v - 49 .. v].
+     */
+    private static final class IdBlocks implements AutoCloseable {
+
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private final Map<String, long[]> blocks = new HashMap<>();
+
+        private IdBlocks(Connection connection) {
+            this.connection = connection;
+        }
+
+        private long next(String sequence) throws SQLException {
+            long[] block = blocks.computeIfAbsent(sequence, key -> new long[]{1, 0});
+            if (block[0] > block[1]) {
+                PreparedStatement nextValue = statements.get(sequence);
+                if (nextValue == null) {
+                    nextValue = connection.prepareStatement("select nextval('" + sequence + "')");
+                    statements.put(sequence, nextValue);
+                }
+                try (ResultSet resultSet = nextValue.executeQuery()) {
+                    resultSet.next();
+                    block[1] = resultSet.getLong(1);
+                }
+                block[0] = Math.max(1, block[1] - SEQUENCE_INCREMENT + 1);
+            }
+            return block[0]++;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+        }
+    }
+
+    private static final class IngestionProgress {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final String mode;
+        private final JobContext context;
+        private final long startedAt = System.nanoTime();
+        private long employees;
+        private long addresses;
+        private long documents;
+        private long history;
+        private long heapHighWaterMark;
+
+        private IngestionProgress(String mode, JobContext context) {
+            this.mode = mode;
+            this.context = context;
+            sampleHeap();
+        }
+
+        private void chunkWritten(List<Employee> chunk) {
+            long rowsBefore = rows();
+            employees += chunk.size();
+            for (Employee employee : chunk) {
+                addresses += employee.getAddresses() == null ? 0 : employee.getAddresses().size();
+                if (employee.getDocument() != null) {
+                    documents++;
+                    history += employee.getDocument().getHistory() == null ? 0 : employee.getDocument().getHistory().size();
+                }
+            }
+            sampleHeap();
+            log.debug("ingest() - chunk written: employees = {}, addresses = {}", employees, addresses);
+            context.advance(chunk.size(), rows() - rowsBefore);
+        }
+
+        private long rows() {
+            return employees + addresses + documents + history;
+        }
+
+        private void sampleHeap() {
+            heapHighWaterMark = Math.max(heapHighWaterMark, memory.getHeapMemoryUsage().getUsed());
+        }
+
+        private IngestionReportDto toReport() {
+            long millis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+            double rowsPerSecond = rows() * 1000.0 / millis;
+            return new IngestionReportDto(mode, employees, addresses, documents, history, millis, rowsPerSecond,
+                    heapHighWaterMark);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demowithtests.service.job;
+
+import com.example.demowithtests.domain.JobType;
+import com.example.demowithtests.dto.IngestionReportDto;
+import com.example.demowithtests.service.fillDataBase.GenerationSettings;
+import com.example.demowithtests.service.fillDataBase.LoaderService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates a synthetic data set. Not restartable: a second run would insert the rows of the first one again.
+ */
+@Component
+@AllArgsConstructor
+public class FillJobHandler implements JobHandler<GenerationSettings> {
+
+    private final LoaderService loaderService;
+
+    @Override
+    public JobType type() {
+        return JobType.FILL;
+    }
+
+    @Override
+    public Class<GenerationSettings> parametersType() {
+        return GenerationSettings.class;
+    }
+
+    @Override
+    public IngestionReportDto run(GenerationSettings settings, JobContext context) {
+        return loaderService.generateData(settings, context);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demowithtests.service.job;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Progress sink of a running job. Long operations report their work in units they can count up front
+ * (ids of a window, generated employees) and the rows they actually wrote.
+ */
+public interface JobContext {
+
+    /**
+     * Context of a call made outside a job: progress is dropped and the call is never cancelled.
+     */
+    JobContext NONE = new JobContext() {
+        @Override
+        public void total(long units) {
+        }
+
+        @Override
+        public void advance(long units, long rows) {
+        }
+    };
+
+    /**
+     * @param units work units of the whole run, 0 when unknown
+     */
+    void total(long units);
+
+    /**
+     * Reports a finished step. Also the cancellation point: call it between steps that are committed on their own,
+     * so a cancelled job stops on a step boundary.
+     *
+     * @param units work units done by the step
+     * @param rows  rows written by the step
+     * @throws CancellationException when the job was cancelled or the application is shutting down
+     */
+    void advance(long units, long rows);
+}
@@ -0,0 +1,20 @@
+package com.example.demowithtests.service.job;
+
+import com.example.demowithtests.domain.JobType;
+
+/**
+ * Runs one type of job. Handlers are Spring beans, {@link JobServiceBean} picks them up by {@link #type()}.
+ *
+ * @param <P> parameters, stored as JSON with the job so a queued job can be started after a restart
+ */
+public interface JobHandler<P> {
+
+    JobType type();
+
+    Class<P> parametersType();
+
+    /**
+     * @return result of the run, stored as JSON with the job
+     */
+    Object run(P parameters, JobContext context);
+}
@@ -0,0 +1,28 @@
+package com.example.demowithtests.service.job;
+
+import com.example.demowithtests.domain.JobType;
+import com.example.demowithtests.dto.JobDto;
+import com.example.demowithtests.util.exception.JobRejectedException;
+
+import java.util.Optional;
+
+public interface JobService {
+
+    /**
+     * Stores the job and queues it on the job executor.
+     *
+     * @param parameters parameters of the job's handler, null for a handler without parameters
+     * @return the job as stored after queueing, a job that already ran may be finished or failed
+     * @throws JobRejectedException when the queue is full, the job is stored as
+     *                              {@link com.example.demowithtests.domain.JobStatus#FAILED} and never runs
+     */
+    JobDto submit(JobType type, Object parameters);
+
+    Optional<JobDto> get(Long id);
+
+    /**
+     * Cancels a queued job at once, a running job stops at its next progress report.
+     * A finished job is returned unchanged.
+     */
+    Optional<JobDto> cancel(Long id);
+}
@@ -0,0 +1,254 @@
+package com.example.demowithtests.service.job;
+
+import com.example.demowithtests.domain.Job;
+import com.example.demowithtests.domain.JobStatus;
+import com.example.demowithtests.domain.JobType;
+import com.example.demowithtests.dto.JobDto;
+import com.example.demowithtests.repository.JobRepository;
+import com.example.demowithtests.util.exception.JobRejectedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs jobs on a bounded executor: a fixed number of worker threads and a bounded queue, so admin operations
+ * can neither starve the request threads nor pile up without limit.
+ * <p>
+ * The jobs table is the source of truth. Progress is written at most once per progress interval, and the same
+ * write picks up a cancel request. On startup queued jobs are queued again; a job that was running when the
+ * application stopped is started again when its type is restartable and marked failed otherwise.
+ * Recovery assumes a single application instance.
+ */
+@Slf4j
+@Service
+public class JobServiceBean implements JobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<JobType, JobHandler<?>> handlers = new EnumMap<>(JobType.class);
+    private final Duration progressInterval;
+    private final ThreadPoolExecutor executor;
+
+    private volatile boolean stopping;
+
+    public JobServiceBean(JobRepository jobRepository,
+                          ObjectMapper objectMapper,
+                          List<JobHandler<?>> handlers,
+                          @Value("${app.jobs.workers:2}") int workers,
+                          @Value("${app.jobs.queue-capacity:100}") int queueCapacity,
+                          @Value("${app.jobs.progress-interval:1s}") Duration progressInterval) {
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.progressInterval = progressInterval;
+        for (JobHandler<?> handler : handlers) {
+            if (this.handlers.put(handler.type(), handler) != null) {
+                throw new IllegalStateException("Duplicate job handler: " + handler.type());
+            }
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+            Thread thread = new Thread(task, "job-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Job job : jobRepository.findByStatusInOrderById(List.of(JobStatus.QUEUED, JobStatus.RUNNING))) {
+            if (job.getStatus() == JobStatus.RUNNING) {
+                if (job.isCancelRequested()) {
+                    jobRepository.finish(job.getId(), JobStatus.CANCELLED, null, "Cancelled", now);
+                    continue;
+                }
+                if (!job.getType().isRestartable()) {
+                    jobRepository.finish(job.getId(), JobStatus.FAILED, null,
+                            "Interrupted by a restart, the job is not restartable", now);
+                    log.warn("recover() - job interrupted: id = {}, type = {}", job.getId(), job.getType());
+                    continue;
+                }
+                jobRepository.requeue(job.getId(), now);
+            }
+            log.info("recover() - job queued again: id = {}, type = {}", job.getId(), job.getType());
+            enqueue(job.getId());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopping = true;
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public JobDto submit(JobType type, Object parameters) {
+        if (!handlers.containsKey(type)) {
+            throw new IllegalArgumentException("No handler for job type " + type);
+        }
+        Job job = jobRepository.save(Job.builder()
+                .type(type)
+                .status(JobStatus.QUEUED)
+                .parameters(parameters == null ? "{}" : toJson(parameters))
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.info("submit() - job queued: id = {}, type = {}", job.getId(), type);
+        if (!enqueue(job.getId())) {
+            throw new JobRejectedException(get(job.getId()).orElseThrow());
+        }
+        return get(job.getId()).orElseThrow();
+    }
+
+    @Override
+    public Optional<JobDto> get(Long id) {
+        return jobRepository.findById(id).map(this::toDto);
+    }
+
+    @Override
+    public Optional<JobDto> cancel(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobRepository.cancelQueued(id, now) == 0) {
+            jobRepository.requestCancel(id, now);
+        }
+        return get(id);
+    }
+
+    /**
+     * @return false when the queue is full, the job is stored as failed then
+     */
+    private boolean enqueue(Long id) {
+        try {
+            executor.execute(() -> run(id));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("enqueue() - job queue is full: id = {}", id);
+            jobRepository.finish(id, JobStatus.FAILED, null, "Rejected, the job queue is full", LocalDateTime.now());
+            return false;
+        }
+    }
+
+    private void run(Long id) {
+        if (jobRepository.claim(id, LocalDateTime.now()) == 0) {
+            // cancelled while queued
+            return;
+        }
+        Job job = jobRepository.findById(id).orElseThrow();
+        Progress progress = new Progress(id);
+        log.info("run() - start: id = {}, type = {}", id, job.getType());
+        try {
+            Object result = run(handlers.get(job.getType()), job.getParameters(), progress);
+            progress.flush();
+            jobRepository.finish(id, JobStatus.SUCCEEDED, result == null ? null : toJson(result), null,
+                    LocalDateTime.now());
+            log.info("run() - end: id = {}, rows = {}", id, progress.rows);
+        } catch (CancellationException e) {
+            if (stopping) {
+                // left running, the next start recovers it
+                log.info("run() - stopped by shutdown: id = {}", id);
+                return;
+            }
+            progress.flush();
+            jobRepository.finish(id, JobStatus.CANCELLED, null, "Cancelled", LocalDateTime.now());
+            log.info("run() - cancelled: id = {}, rows = {}", id, progress.rows);
+        } catch (Exception e) {
+            log.error("run() - failed: id = {}, type = {}", id, job.getType(), e);
+            progress.flush();
+            jobRepository.finish(id, JobStatus.FAILED, null, truncate(String.valueOf(e.getMessage())),
+                    LocalDateTime.now());
+        }
+    }
+
+    private <P> Object run(JobHandler<P> handler, String parameters, JobContext context) throws JsonProcessingException {
+        return handler.run(objectMapper.readValue(parameters, handler.parametersType()), context);
+    }
+
+    private JobDto toDto(Job job) {
+        JsonNode result = null;
+        if (job.getResult() != null) {
+            try {
+                result = objectMapper.readTree(job.getResult());
+            } catch (JsonProcessingException e) {
+                log.warn("toDto() - unreadable result: id = {}", job.getId(), e);
+            }
+        }
+        return JobDto.of(job, result, LocalDateTime.now());
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Value is not serializable: " + value, e);
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Counts progress in memory and writes it through at most once per progress interval.
+     * Only the job's own worker thread uses it.
+     */
+    private final class Progress implements JobContext {
+
+        private final Long id;
+        private long total;
+        private long done;
+        private long rows;
+        private long flushedAt = System.nanoTime();
+
+        private Progress(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public void total(long units) {
+            total = units;
+            flush();
+        }
+
+        @Override
+        public void advance(long units, long rows) {
+            done += units;
+            this.rows += rows;
+            if (stopping || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Job executor is shutting down");
+            }
+            if (System.nanoTime() - flushedAt >= progressInterval.toNanos()) {
+                flush();
+                if (jobRepository.isCancelRequested(id)) {
+                    throw new CancellationException("Job " + id + " was cancelled");
+                }
+            }
+        }
+
+        private void flush() {
+            jobRepository.updateProgress(id, total, done, rows, LocalDateTime.now());
+            flushedAt = System.nanoTime();
+        }
+    }
+}
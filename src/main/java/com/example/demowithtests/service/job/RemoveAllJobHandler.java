@@ -0,0 +1,40 @@
+package com.example.demowithtests.service.job;
+
+import com.example.demowithtests.domain.JobType;
+import com.example.demowithtests.service.EmployeeService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Soft deletes all employees, see {@link EmployeeService#removeAll(int)}.
+ */
+@Component
+@AllArgsConstructor
+public class RemoveAllJobHandler implements JobHandler<RemoveAllJobHandler.Parameters> {
+
+    private final EmployeeService employeeService;
+
+    @Override
+    public JobType type() {
+        return JobType.REMOVE_ALL;
+    }
+
+    @Override
+    public Class<Parameters> parametersType() {
+        return Parameters.class;
+    }
+
+    /**
+     * @return number of employees marked as deleted
+     */
+    @Override
+    public Integer run(Parameters parameters, JobContext context) {
+        return employeeService.removeAll(parameters.chunkSize(), context);
+    }
+
+    /**
+     * @param chunkSize width of an id window
+     */
+    public record Parameters(int chunkSize) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demowithtests.service.job;
+
+import com.example.demowithtests.domain.JobType;
+import com.example.demowithtests.dto.EmployeeFilterDto;
+import com.example.demowithtests.service.EmployeeService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renames all employees matching a filter, see {@link EmployeeService#updateAllNames(String, EmployeeFilterDto, Integer)}.
+ */
+@Component
+@AllArgsConstructor
+public class RenameAllJobHandler implements JobHandler<RenameAllJobHandler.Parameters> {
+
+    private final EmployeeService employeeService;
+
+    @Override
+    public JobType type() {
+        return JobType.RENAME_ALL;
+    }
+
+    @Override
+    public Class<Parameters> parametersType() {
+        return Parameters.class;
+    }
+
+    /**
+     * @return number of renamed employees
+     */
+    @Override
+    public Integer run(Parameters parameters, JobContext context) {
+        return employeeService.updateAllNames(parameters.name(), parameters.filter(), parameters.chunkSize(), context);
+    }
+
+    /**
+     * @param chunkSize width of an id window, null for a single statement that can only be cancelled before it starts
+     */
+    public record Parameters(String name, EmployeeFilterDto filter, Integer chunkSize) {
+    }
+}
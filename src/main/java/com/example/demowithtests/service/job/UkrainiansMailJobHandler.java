@@ -0,0 +1,45 @@
+package com.example.demowithtests.service.job;
+
+import com.example.demowithtests.domain.JobType;
+import com.example.demowithtests.dto.EmailCampaignDto;
+import com.example.demowithtests.service.EmployeeService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues the reminder campaign for the employees from Ukraine. Not restartable: a second run would queue
+ * a second campaign.
+ */
+@Component
+@AllArgsConstructor
+public class UkrainiansMailJobHandler implements JobHandler<UkrainiansMailJobHandler.Parameters> {
+
+    private final EmployeeService employeeService;
+
+    @Override
+    public JobType type() {
+        return JobType.UKRAINIANS_MAIL;
+    }
+
+    @Override
+    public Class<Parameters> parametersType() {
+        return Parameters.class;
+    }
+
+    /**
+     * @return the campaign, its delivery state is served by {@code GET /api/campaigns/{id}}
+     */
+    @Override
+    public EmailCampaignDto run(Parameters parameters, JobContext context) {
+        context.total(1);
+        EmailCampaignDto campaign = employeeService.sendEmailsAllUkrainian();
+        context.advance(1, campaign.recipients());
+        return campaign;
+    }
+
+    /**
+     * The job has no parameters, submit it with null.
+     */
+    public record Parameters() {
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demowithtests.service.outbox;
+
+import com.example.demowithtests.dto.EmailCampaignDto;
+import com.example.demowithtests.dto.EmailMessageDto;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface EmailOutboxService {
+
+    /**
+     * Writes the campaign and one outbox row per message. Joins the caller's transaction, so the messages are
+     * committed together with whatever the caller read or wrote to select them. Nothing is sent here.
+     */
+    EmailCampaignDto createCampaign(String name, List<EmailMessageDto> messages);
+
+    Optional<EmailCampaignDto> getCampaign(Long id);
+}
@@ -0,0 +1,95 @@
+package com.example.demowithtests.service.outbox;
+
+import com.example.demowithtests.domain.EmailCampaign;
+import com.example.demowithtests.domain.EmailOutbox;
+import com.example.demowithtests.domain.EmailStatus;
+import com.example.demowithtests.dto.EmailCampaignDto;
+import com.example.demowithtests.dto.EmailMessageDto;
+import com.example.demowithtests.repository.EmailCampaignRepository;
+import com.example.demowithtests.repository.EmailOutboxRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+public class EmailOutboxServiceBean implements EmailOutboxService {
+
+    /**
+     * Outbox rows per flush. Flushed rows are detached to keep large campaigns in bounds; the persistence context is
+     * not cleared, it belongs to the caller's transaction and may hold the caller's entities.
+     */
+    private static final int FLUSH_SIZE = 1000;
+
+    private final EmailCampaignRepository campaignRepository;
+    private final EmailOutboxRepository outboxRepository;
+    private final String recipientOverride;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EmailOutboxServiceBean(EmailCampaignRepository campaignRepository,
+                                  EmailOutboxRepository outboxRepository,
+                                  @Value("${app.mail.outbox.recipient-override:}") String recipientOverride) {
+        this.campaignRepository = campaignRepository;
+        this.outboxRepository = outboxRepository;
+        this.recipientOverride = recipientOverride;
+    }
+
+    @Override
+    @Transactional
+    public EmailCampaignDto createCampaign(String name, List<EmailMessageDto> messages) {
+        log.debug("createCampaign() - start: name = {}, messages = {}", name, messages.size());
+        LocalDateTime now = LocalDateTime.now();
+        EmailCampaign campaign = campaignRepository.save(EmailCampaign.builder()
+                .name(name)
+                .recipients(messages.size())
+                .createdAt(now)
+                .build());
+
+        int written = 0;
+        List<EmailOutbox> unflushed = new ArrayList<>(Math.min(messages.size(), FLUSH_SIZE));
+        for (EmailMessageDto message : messages) {
+            EmailOutbox row = EmailOutbox.builder()
+                    .campaignId(campaign.getId())
+                    .employeeId(message.employeeId())
+                    .recipient(recipientOverride.isBlank() ? message.recipient() : recipientOverride)
+                    .subject(message.subject())
+                    .body(message.body())
+                    .nextAttemptAt(now)
+                    .build();
+            entityManager.persist(row);
+            unflushed.add(row);
+            if (++written % FLUSH_SIZE == 0) {
+                flush(unflushed);
+            }
+        }
+        flush(unflushed);
+        log.info("createCampaign() - end: id = {}, messages = {}", campaign.getId(), written);
+        return new EmailCampaignDto(campaign.getId(), name, written, written, 0, 0);
+    }
+
+    private void flush(List<EmailOutbox> rows) {
+        entityManager.flush();
+        rows.forEach(entityManager::detach);
+        rows.clear();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EmailCampaignDto> getCampaign(Long id) {
+        return campaignRepository.findById(id)
+                .map(campaign -> new EmailCampaignDto(campaign.getId(), campaign.getName(), campaign.getRecipients(),
+                        outboxRepository.countByCampaignIdAndStatus(id, EmailStatus.PENDING),
+                        outboxRepository.countByCampaignIdAndStatus(id, EmailStatus.SENT),
+                        outboxRepository.countByCampaignIdAndStatus(id, EmailStatus.DEAD)));
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.demowithtests.service.outbox;
+
+import com.example.demowithtests.domain.EmailOutbox;
+import com.example.demowithtests.domain.EmailStatus;
+import com.example.demowithtests.dto.EmailMessageDto;
+import com.example.demowithtests.repository.EmailOutboxRepository;
+import com.example.demowithtests.service.emailSevice.EmailSenderService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the email outbox with a fixed number of worker threads. Every round runs in three steps:
+ * <ol>
+ *     <li>a short transaction claims a batch of due rows with {@code skip locked}, counts the attempt and leases
+ *     the rows by moving their next attempt one lease ahead, so no other worker picks them up meanwhile;</li>
+ *     <li>outside any transaction, the worker takes a permit per message from the shared rate limiter and sends
+ *     the batch over reused SMTP sessions;</li>
+ *     <li>a second short transaction records the outcome.</li>
+ * </ol>
+ * Neither a connection nor a row lock is held while waiting for permits or talking to the SMTP server.
+ * A failed message is retried with exponential backoff and marked {@link EmailStatus#DEAD} after the last attempt.
+ * <p>
+ * Delivery is at least once: when a worker dies between sending and recording, its rows become due again once the
+ * lease expires, and since the attempt was counted at the claim, such a message still ends up dead eventually.
+ */
+@Slf4j
+@Component
+public class EmailOutboxWorker {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailSenderService emailSenderService;
+    private final TransactionTemplate transactionTemplate;
+    private final PerMinuteRateLimiter rateLimiter;
+    private final boolean enabled;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxBackoff;
+    private final Duration pollInterval;
+    private final Duration lease;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    public EmailOutboxWorker(EmailOutboxRepository outboxRepository,
+                             EmailSenderService emailSenderService,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${app.mail.outbox.enabled:true}") boolean enabled,
+                             @Value("${app.mail.outbox.workers:2}") int workers,
+                             @Value("${app.mail.outbox.batch-size:20}") int batchSize,
+                             @Value("${app.mail.outbox.rate-per-minute:120}") int ratePerMinute,
+                             @Value("${app.mail.outbox.max-attempts:5}") int maxAttempts,
+                             @Value("${app.mail.outbox.retry-backoff:30s}") Duration retryBackoff,
+                             @Value("${app.mail.outbox.max-backoff:1h}") Duration maxBackoff,
+                             @Value("${app.mail.outbox.poll-interval:2s}") Duration pollInterval,
+                             @Value("${app.mail.outbox.lease:5m}") Duration lease) {
+        this.outboxRepository = outboxRepository;
+        this.emailSenderService = emailSenderService;
+        this.transactionTemplate = transactionTemplate;
+        this.rateLimiter = new PerMinuteRateLimiter(ratePerMinute);
+        this.enabled = enabled;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxBackoff = maxBackoff;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("start() - email outbox workers are disabled");
+            return;
+        }
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "email-outbox-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::drainLoop);
+        }
+        log.info("start() - email outbox workers started: workers = {}, batchSize = {}", workers, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void drainLoop() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (drainBatch() == 0) {
+                    TimeUnit.MILLISECONDS.sleep(pollInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("drainLoop() - outbox round failed", e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * One claim, send and record round.
+     *
+     * @return number of claimed messages, 0 when nothing is due
+     */
+    public int drainBatch() {
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> claim());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        List<EmailOutbox> permitted = new ArrayList<>(claimed.size());
+        for (EmailOutbox message : claimed) {
+            if (!rateLimiter.acquire()) {
+                // shutting down
+                break;
+            }
+            permitted.add(message);
+        }
+        List<EmailOutbox> released = claimed.subList(permitted.size(), claimed.size());
+        Map<Integer, Exception> failures = send(permitted);
+        transactionTemplate.executeWithoutResult(status -> record(permitted, failures, released));
+        return claimed.size();
+    }
+
+    private List<EmailOutbox> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> due = outboxRepository.claimDue(EmailStatus.PENDING, now, PageRequest.of(0, batchSize));
+        for (EmailOutbox message : due) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(now.plus(lease));
+        }
+        return due;
+    }
+
+    private Map<Integer, Exception> send(List<EmailOutbox> messages) {
+        if (messages.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return emailSenderService.sendEmails(messages.stream()
+                    .map(message -> new EmailMessageDto(message.getEmployeeId(), message.getRecipient(),
+                            message.getSubject(), message.getBody()))
+                    .toList());
+        } catch (RuntimeException e) {
+            log.warn("send() - batch send failed: messages = {}", messages.size(), e);
+            Map<Integer, Exception> failures = new HashMap<>();
+            for (int i = 0; i < messages.size(); i++) {
+                failures.put(i, e);
+            }
+            return failures;
+        }
+    }
+
+    /**
+     * @param released claimed messages that were not sent, they are due again at once and the attempt is not counted
+     */
+    private void record(List<EmailOutbox> messages, Map<Integer, Exception> failures, List<EmailOutbox> released) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < messages.size(); i++) {
+            EmailOutbox message = messages.get(i);
+            Exception error = failures.get(i);
+            if (error == null) {
+                message.setStatus(EmailStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+            } else {
+                message.setLastError(truncate(error.getMessage()));
+                if (message.getAttempts() >= maxAttempts) {
+                    message.setStatus(EmailStatus.DEAD);
+                    log.warn("record() - giving up: id = {}, attempts = {}", message.getId(), message.getAttempts(), error);
+                } else {
+                    message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                    log.debug("record() - retry scheduled: id = {}, attempts = {}", message.getId(), message.getAttempts());
+                }
+            }
+        }
+        for (EmailOutbox message : released) {
+            message.setAttempts(message.getAttempts() - 1);
+            message.setNextAttemptAt(now);
+        }
+        outboxRepository.saveAll(messages);
+        outboxRepository.saveAll(released);
+    }
+
+    /**
+     * @return retry-backoff doubled for every failed attempt after the first, at most max-backoff
+     */
+    Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demowithtests.service.outbox;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads permits evenly over the minute, shared by all outbox workers. A caller reserves the next free slot and
+ * sleeps until it is reached, so bursts are smoothed instead of being rejected.
+ */
+public final class PerMinuteRateLimiter {
+
+    private final long intervalNanos;
+    private long nextFreeNanos = System.nanoTime();
+
+    public PerMinuteRateLimiter(int permitsPerMinute) {
+        if (permitsPerMinute <= 0) {
+            throw new IllegalArgumentException("permitsPerMinute must be positive: " + permitsPerMinute);
+        }
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+    }
+
+    /**
+     * @return false if the thread was interrupted while waiting, the permit is lost then
+     */
+    public boolean acquire() {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFreeNanos);
+            nextFreeNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demowithtests.service.search;
+
+import com.example.demowithtests.dto.SearchPageDto;
+
+public interface EmployeeSearchService {
+
+    /**
+     * Ranked fuzzy search over the names and countries of non-deleted employees.
+     *
+     * @param query     search text
+     * @param threshold minimum trigram similarity of a hit, from 0 to 1
+     * @param page      page number
+     * @param size      hits per page
+     */
+    SearchPageDto search(String query, double threshold, int page, int size);
+}
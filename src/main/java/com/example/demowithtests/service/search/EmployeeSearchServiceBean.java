@@ -0,0 +1,117 @@
+package com.example.demowithtests.service.search;
+
+import com.example.demowithtests.dto.SearchHitDto;
+import com.example.demowithtests.dto.SearchPageDto;
+import com.example.demowithtests.util.DatabasePlatform;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * On PostgreSQL the hits are found by the trigram similarity operator, which the GIN indexes of V16 serve;
+ * the threshold is set per transaction. Elsewhere (H2 in tests) the table is scanned and ranked
+ * with {@link TrigramSimilarity}, keeping only the rows up to the requested page.
+ */
+@Slf4j
+@Service
+public class EmployeeSearchServiceBean implements EmployeeSearchService {
+
+    private static final String SET_THRESHOLD = "SELECT set_config('pg_trgm.similarity_threshold', ?, true)";
+
+    private static final String TRIGRAM_SEARCH = """
+            SELECT id, name, country, email, greatest(similarity(name, ?), similarity(country, ?)) AS score
+            FROM users
+            WHERE is_deleted = false AND (name % ? OR country % ?)
+            ORDER BY score DESC, id
+            LIMIT ? OFFSET ?""";
+
+    private static final String SCAN = "SELECT id, name, country, email FROM users WHERE is_deleted = false";
+
+    /**
+     * Initial capacity of the scan's top-k queue; it grows with the matching rows, not with the requested page.
+     */
+    private static final int SCAN_INITIAL_CAPACITY = 256;
+
+    private static final Comparator<SearchHitDto> BEST_FIRST = Comparator
+            .comparingDouble(SearchHitDto::score).reversed()
+            .thenComparing(SearchHitDto::id);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    public EmployeeSearchServiceBean(DataSource dataSource,
+                                     PlatformTransactionManager transactionManager,
+                                     DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.databasePlatform = databasePlatform;
+    }
+
+    @Override
+    public SearchPageDto search(String query, double threshold, int page, int size) {
+        log.debug("search() - start: query = {}, threshold = {}, page = {}, size = {}", query, threshold, page, size);
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query must not be blank");
+        }
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("threshold must be greater than 0 and at most 1");
+        }
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("page must not be negative and size must be positive");
+        }
+        long startedAt = System.nanoTime();
+        boolean postgres = databasePlatform.isPostgres();
+        // one extra row tells whether a next page exists; long, so deep pages cannot overflow
+        long offset = (long) page * size;
+        List<SearchHitDto> hits = postgres
+                ? trigramSearch(query, threshold, offset, size + 1L)
+                : scan(query, threshold, offset, size + 1L);
+        boolean hasNext = hits.size() > size;
+        SearchPageDto result = new SearchPageDto(hasNext ? hits.subList(0, size) : hits, page, size, hasNext,
+                postgres ? "pg_trgm" : "scan", (System.nanoTime() - startedAt) / 1_000_000);
+        log.debug("search() - end: hits = {}, tookMillis = {}", result.hits().size(), result.tookMillis());
+        return result;
+    }
+
+    private List<SearchHitDto> trigramSearch(String query, double threshold, long offset, long limit) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject(SET_THRESHOLD, String.class, String.valueOf(threshold));
+            return jdbcTemplate.query(TRIGRAM_SEARCH,
+                    (resultSet, row) -> new SearchHitDto(resultSet.getInt("id"), resultSet.getString("name"),
+                            resultSet.getString("country"), resultSet.getString("email"), resultSet.getDouble("score")),
+                    query, query, query, query, limit, offset);
+        });
+    }
+
+    private List<SearchHitDto> scan(String query, double threshold, long offset, long limit) {
+        long keep = offset + limit;
+        // worst hit at the head, so the queue holds the best "keep" hits seen so far
+        PriorityQueue<SearchHitDto> best = new PriorityQueue<>((int) Math.min(keep + 1, SCAN_INITIAL_CAPACITY),
+                BEST_FIRST.reversed());
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SCAN, resultSet -> {
+            String name = resultSet.getString("name");
+            String country = resultSet.getString("country");
+            double score = Math.max(TrigramSimilarity.similarity(name, query),
+                    TrigramSimilarity.similarity(country, query));
+            if (score >= threshold) {
+                best.add(new SearchHitDto(resultSet.getInt("id"), name, country, resultSet.getString("email"), score));
+                if (best.size() > keep) {
+                    best.poll();
+                }
+            }
+        }));
+        List<SearchHitDto> sorted = new ArrayList<>(best);
+        sorted.sort(BEST_FIRST);
+        return offset >= sorted.size() ? List.of() : sorted.subList((int) offset, sorted.size());
+    }
+}
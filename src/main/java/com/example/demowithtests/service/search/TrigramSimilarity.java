@@ -0,0 +1,53 @@
+package com.example.demowithtests.service.search;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Java port of the pg_trgm similarity: words are lower-cased alphanumeric runs padded with two spaces in front
+ * and one behind, and the similarity is the share of common trigrams in all trigrams of both strings.
+ * Used where pg_trgm is not available, so the fallback ranks the same way as PostgreSQL.
+ */
+public final class TrigramSimilarity {
+
+    private TrigramSimilarity() {
+    }
+
+    public static double similarity(String left, String right) {
+        if (left == null || right == null) {
+            return 0;
+        }
+        Set<String> leftTrigrams = trigrams(left);
+        Set<String> rightTrigrams = trigrams(right);
+        if (leftTrigrams.isEmpty() || rightTrigrams.isEmpty()) {
+            return 0;
+        }
+        int common = 0;
+        for (String trigram : leftTrigrams) {
+            if (rightTrigrams.contains(trigram)) {
+                common++;
+            }
+        }
+        return (double) common / (leftTrigrams.size() + rightTrigrams.size() - common);
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String padded = "  " + lower.substring(start, i) + " ";
+                for (int j = 0; j + 3 <= padded.length(); j++) {
+                    trigrams.add(padded.substring(j, j + 3));
+                }
+                start = -1;
+            }
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.demowithtests.service.user;
+
+import com.example.demowithtests.domain.Role;
+import com.example.demowithtests.util.DatabasePlatform;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Looks users up in users_with_roles by name and caches the rows found for a bounded time.
+ * On PostgreSQL a listener thread receives the users_with_roles_changed notifications of V18 and evicts
+ * the names they carry, so role and password changes apply to the next request; elsewhere entries
+ * only expire. Unknown names are not cached, so a new user can log in right away.
+ */
+@Slf4j
+@Service
+public class UserDetailsServiceBean implements UserDetailsService {
+
+    static final String CHANNEL = "users_with_roles_changed";
+
+    private static final int POLL_MILLIS = 10_000;
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private final UserService userService;
+    private final DataSource dataSource;
+    private final DatabasePlatform databasePlatform;
+    private final Cache<String, Credentials> users;
+    private volatile Thread listener;
+
+    public UserDetailsServiceBean(UserService userService,
+                                  DataSource dataSource,
+                                  DatabasePlatform databasePlatform,
+                                  ObjectProvider<MeterRegistry> meterRegistry,
+                                  @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                                  @Value("${app.security.user-cache.ttl:10m}") Duration ttl) {
+        this.userService = userService;
+        this.dataSource = dataSource;
+        this.databasePlatform = databasePlatform;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, users, "security.users"));
+    }
+
+    /**
+     * Returns a new {@link UserDetails} on every call: Spring Security erases the password of the instance
+     * it authenticated, which must not reach the cache.
+     */
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        Credentials credentials = users.get(username, name -> userService.findByName(name)
+                .map(user -> new Credentials(user.getName(), user.getPassword(), user.getRole()))
+                .orElse(null));
+        if (credentials == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        return User.withUsername(credentials.name())
+                .password(credentials.password())
+                .roles(credentials.role().toString())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!databasePlatform.isPostgres()) {
+            log.info("onApplicationReady() - not PostgreSQL, cached users expire after their TTL only");
+            return;
+        }
+        Thread thread = new Thread(this::listen, "users-with-roles-listener");
+        thread.setDaemon(true);
+        listener = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = listener;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Holds one pooled connection for LISTEN. Whenever it is (re)established the whole cache is dropped,
+     * since notifications sent while nobody listened are lost.
+     */
+    private void listen() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                users.invalidateAll();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (!Thread.currentThread().isInterrupted()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            evict(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                log.warn("listen() - listening on {} failed, reconnecting in {}", CHANNEL, RECONNECT_DELAY, e);
+                users.invalidateAll();
+                try {
+                    Thread.sleep(RECONNECT_DELAY.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void evict(String name) {
+        log.debug("evict() - name = {}", name);
+        if (name == null || name.isEmpty()) {
+            users.invalidateAll();
+        } else {
+            users.invalidate(name);
+        }
+    }
+
+    private record Credentials(String name, String password, Role role) {
+    }
+}
@@ -3,7 +3,10 @@ package com.example.demowithtests.service.user;
 import com.example.demowithtests.domain.User;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface UserService {
     List<User> findAll();
+
+    Optional<User> findByName(String name);
 }
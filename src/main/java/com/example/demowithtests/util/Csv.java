@@ -0,0 +1,66 @@
+package com.example.demowithtests.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 helpers for single-line records.
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Splits one record into fields, honouring quotes and doubled quotes. Empty fields become null.
+     */
+    public static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.isEmpty() ? null : field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.isEmpty() ? null : field.toString());
+        return fields;
+    }
+
+    /**
+     * Writes one record, quoting fields that contain separators, quotes or line breaks. Nulls become empty fields.
+     */
+    public static void writeRecord(Appendable out, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            if (values[i] != null) {
+                String value = values[i].toString();
+                if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                        || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                    out.append('"').append(value.replace("\"", "\"\"")).append('"');
+                } else {
+                    out.append(value);
+                }
+            }
+        }
+        out.append('\n');
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demowithtests.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Tells PostgreSQL apart from the embedded H2 database used by the tests,
+ * so PostgreSQL-only features (COPY, pg_trgm, partitions, ...) can fall back gracefully.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabasePlatform {
+
+    private final DataSource dataSource;
+
+    private volatile Boolean postgres;
+
+    public boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                result = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                throw new IllegalStateException("Unable to detect the database platform", e);
+            }
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -16,4 +16,22 @@ public interface Endpoints {
 
     String API_USERS_JPA = "/api/users/jpa";
 
+    String API_USERS_IMPORT = "/api/users/import";
+
+    String API_AUTH = "/api/auth";
+
+    String CAMPAIGN_ENDPOINT = "/campaigns";
+
+    String API_CAMPAIGNS = "/api/campaigns";
+
+    String API_CAMPAIGNS_ALL = "/api/campaigns/**";
+
+    String API_USERS_FILL = "/api/users/fill";
+
+    String JOB_ENDPOINT = "/jobs";
+
+    String API_JOBS = "/api/jobs";
+
+    String API_JOBS_ALL = "/api/jobs/**";
+
 }
@@ -0,0 +1,37 @@
+package com.example.demowithtests.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Continuation token of the history pages, which are ordered by time and id, newest first.
+ *
+ * @param lastTime time of the last record of the page
+ * @param lastId   id of the last record of the page
+ */
+public record HistoryCursor(LocalDateTime lastTime, Integer lastId) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = lastTime.toString() + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token is malformed
+     */
+    public static HistoryCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed continuation token");
+            }
+            return new HistoryCursor(LocalDateTime.parse(parts[0]), Integer.valueOf(parts[1]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed continuation token", e);
+        }
+    }
+}
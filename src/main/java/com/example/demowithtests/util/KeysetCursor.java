@@ -0,0 +1,48 @@
+package com.example.demowithtests.util;
+
+import com.example.demowithtests.repository.EmployeeKeysetRepository.SortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token of keyset paging. The token also carries the sort it was issued for,
+ * so it cannot be replayed against a different ordering.
+ *
+ * @param sortKey    sort column of the page
+ * @param descending sort direction of the page
+ * @param lastKey    sort key of the last row of the page
+ * @param lastId     id of the last row of the page
+ */
+public record KeysetCursor(SortKey sortKey, boolean descending, String lastKey, Integer lastId) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR + (descending ? "D" : "A") + SEPARATOR + lastId + SEPARATOR + lastKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token is malformed or was issued for another sort
+     */
+    public static KeysetCursor decode(String token, SortKey sortKey, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed continuation token", e);
+        }
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed continuation token");
+        }
+        if (!parts[0].equals(sortKey.name()) || !parts[1].equals(descending ? "D" : "A")) {
+            throw new IllegalArgumentException("Continuation token was issued for a different sort order");
+        }
+        try {
+            return new KeysetCursor(sortKey, descending, parts[3], Integer.valueOf(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed continuation token", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demowithtests.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Text template with {@code {name}} placeholders. The template is parsed once into literal and placeholder
+ * segments, rendering is a single append pass into a pre-sized builder.
+ */
+public final class MessageTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([A-Za-z][A-Za-z0-9]*)}");
+
+    /**
+     * One more literal than names: literal[0] name[0] literal[1] ... name[n-1] literal[n].
+     */
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, String[] names) {
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MessageTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        int from = 0;
+        while (matcher.find()) {
+            literals.add(template.substring(from, matcher.start()));
+            names.add(matcher.group(1));
+            from = matcher.end();
+        }
+        literals.add(template.substring(from));
+        return new MessageTemplate(literals.toArray(String[]::new), names.toArray(String[]::new));
+    }
+
+    /**
+     * @throws IllegalArgumentException when a placeholder has no value
+     */
+    public String render(Map<String, ?> values) {
+        StringBuilder text = new StringBuilder(literalLength + names.length * 16);
+        text.append(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            Object value = values.get(names[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for placeholder {" + names[i] + "}");
+            }
+            text.append(value).append(literals[i + 1]);
+        }
+        return text.toString();
+    }
+}
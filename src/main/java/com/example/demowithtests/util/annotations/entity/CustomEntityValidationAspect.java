@@ -43,19 +43,15 @@ public class CustomEntityValidationAspect {
         field.setAccessible(true);
         Object value = field.get(arg);
         if (value instanceof String) {
-            field.set(arg, toNameFormat((String) value));
+            field.set(arg, EntityFormatting.toNameFormat((String) value));
         }
     }
 
-    private String toNameFormat(String name) {
-        return name.trim().substring(0, 1).toUpperCase() + name.trim().substring(1).toLowerCase();
-    }
-
     private void setLowerCase(Object arg, Field field) throws IllegalAccessException {
         field.setAccessible(true);
         Object value = field.get(arg);
         if (value instanceof String) {
-            field.set(arg, ((String) value).toLowerCase());
+            field.set(arg, EntityFormatting.toLowerCase((String) value));
         }
     }
 }
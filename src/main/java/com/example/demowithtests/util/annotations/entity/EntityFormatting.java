@@ -0,0 +1,33 @@
+package com.example.demowithtests.util.annotations.entity;
+
+/**
+ * Formatting rules behind {@link Name} and {@link ToLowerCase}, shared by the aspect and the bulk write paths.
+ */
+public final class EntityFormatting {
+
+    private EntityFormatting() {
+    }
+
+    /**
+     * "  mARK " becomes "Mark".
+     */
+    public static String toNameFormat(String name) {
+        if (name == null || name.isBlank()) {
+            return name;
+        }
+        String trimmed = name.trim();
+        return trimmed.substring(0, 1).toUpperCase() + trimmed.substring(1).toLowerCase();
+    }
+
+    /**
+     * Key of suffix searches: "Martin " becomes "nitram", so "name ends with tin" is "key starts with nit".
+     * Lower-cased like {@link #toNameFormat}, which makes the search case-insensitive.
+     */
+    public static String toReversedKey(String name) {
+        return name == null ? null : new StringBuilder(name.trim().toLowerCase()).reverse().toString();
+    }
+
+    public static String toLowerCase(String value) {
+        return value == null ? null : value.toLowerCase();
+    }
+}
@@ -1,31 +1,45 @@
 package com.example.demowithtests.util.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import java.time.Duration;
 import java.util.Properties;
 
 @Configuration
 public class MailConfig {
 
+    /**
+     * Server settings come from {@code app.mail}, so a local SMTP stand-in can replace Gmail without a code change.
+     */
     @Bean
-    public JavaMailSender getJavaMailSender() {
+    public JavaMailSender getJavaMailSender(@Value("${app.mail.host:smtp.gmail.com}") String host,
+                                            @Value("${app.mail.port:587}") int port,
+                                            @Value("${app.mail.username:kaluzny.oleg@gmail.com}") String username,
+                                            @Value("${app.mail.auth:true}") boolean auth,
+                                            @Value("${app.mail.starttls:true}") boolean starttls,
+                                            @Value("${app.mail.timeout:10s}") Duration timeout) {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
 
-        mailSender.setHost("smtp.gmail.com");
-        mailSender.setPort(587);
+        mailSender.setHost(host);
+        mailSender.setPort(port);
 
-        mailSender.setUsername("kaluzny.oleg@gmail.com");
+        mailSender.setUsername(username);
         mailSender.setPassword(System.getenv("SMTP_PASSWORD"));
 
         Properties props = mailSender.getJavaMailProperties();
         props.put("mail.protocol", "smtp");
         props.put("mail.test-connection", "true");
-        props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.starttls.enable", "true");
+        props.put("mail.smtp.auth", String.valueOf(auth));
+        props.put("mail.smtp.starttls.enable", String.valueOf(starttls));
+        // a hanging server must not block an outbox worker forever
+        props.put("mail.smtp.connectiontimeout", String.valueOf(timeout.toMillis()));
+        props.put("mail.smtp.timeout", String.valueOf(timeout.toMillis()));
+        props.put("mail.smtp.writetimeout", String.valueOf(timeout.toMillis()));
 
         return mailSender;
     }
-}
\ No newline at end of file
+}
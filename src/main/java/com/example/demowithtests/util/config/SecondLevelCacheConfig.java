@@ -0,0 +1,83 @@
+package com.example.demowithtests.util.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache on Caffeine through JCache. Every region is created here from
+ * {@code app.cache.regions.<region>.max-size/ttl}, Hibernate fails on startup for a region it cannot find.
+ * Hit, miss, put, removal and eviction counts are published per region as the cache.* metrics,
+ * Hibernate's own view as hibernate.second.level.cache.*.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheConfig.CacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    public static final String EMPLOYEES = "employees";
+    public static final String EMPLOYEE_ADDRESSES = "employee-addresses";
+    public static final String ADDRESSES = "addresses";
+    public static final String DOCUMENTS = "documents";
+
+    private static final List<String> REGIONS = List.of(EMPLOYEES, EMPLOYEE_ADDRESSES, ADDRESSES, DOCUMENTS);
+
+    private static final CacheProperties.Region DEFAULT_REGION = new CacheProperties.Region(10_000, Duration.ofMinutes(10));
+
+    /**
+     * @param regions size and time to live per region, regions left out get 10,000 entries for 10 minutes
+     */
+    @ConfigurationProperties(prefix = "app.cache")
+    public record CacheProperties(Map<String, Region> regions) {
+
+        /**
+         * @param maxSize maximum number of entries
+         * @param ttl     time after the last write until an entry expires
+         */
+        public record Region(long maxSize, Duration ttl) {
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(CacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        for (String name : REGIONS) {
+            CacheProperties.Region region = properties.regions() == null
+                    ? DEFAULT_REGION
+                    : properties.regions().getOrDefault(name, DEFAULT_REGION);
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.maxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            if (cacheManager.getCache(name) == null) {
+                cacheManager.createCache(name, configuration);
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> REGIONS.forEach(name -> JCacheMetrics.monitor(registry, secondLevelCacheManager.getCache(name)));
+    }
+}
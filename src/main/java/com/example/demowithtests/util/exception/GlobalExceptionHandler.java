@@ -1,5 +1,6 @@
 package com.example.demowithtests.util.exception;
 
+import com.example.demowithtests.dto.JobDto;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -74,6 +75,11 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(JobRejectedException.class)
+    protected ResponseEntity<JobDto> handleJobRejectedException(JobRejectedException ex) {
+        return new ResponseEntity<>(ex.getJob(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @Data
     @AllArgsConstructor
     private static class MyGlobalExceptionHandler {
@@ -0,0 +1,18 @@
+package com.example.demowithtests.util.exception;
+
+import com.example.demowithtests.dto.JobDto;
+import lombok.Getter;
+
+/**
+ * The job queue was full: the job is stored as failed and will not run.
+ */
+@Getter
+public class JobRejectedException extends RuntimeException {
+
+    private final transient JobDto job;
+
+    public JobRejectedException(JobDto job) {
+        super("Rejected, the job queue is full");
+        this.job = job;
+    }
+}
@@ -6,6 +6,7 @@ import com.example.demowithtests.dto.EmployeeEmailDto;
 import com.example.demowithtests.dto.EmployeeUpdateDto;
 import com.example.demowithtests.dto.EmployeeReadDto;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
@@ -18,8 +19,11 @@ public interface EmployeeMapper {
 
     List<EmployeeDto> toListEmployeeDto(List<Employee> employees);
 
+    // derived from the name when the entity is persisted
+    @Mapping(target = "nameReversed", ignore = true)
     Employee toEmployee(EmployeeDto employeeDto);
 
+    @Mapping(target = "nameReversed", ignore = true)
     Employee toEmployee(EmployeeUpdateDto employeeDto);
 
     EmployeeEmailDto toEmployeeEmailDto(Employee employee);
@@ -0,0 +1,115 @@
+package com.example.demowithtests.util.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Self-contained HMAC-SHA256 signed tokens: {@code base64url(payload) "." base64url(signature)}, where the payload
+ * is {@code keyId|expiresAt|authorities|subject}. New tokens are signed with the current key; any configured key
+ * verifies, so a key is rotated by adding the new one as current and removing the old one once its tokens expired.
+ * <p>
+ * The signature is checked over the encoded payload before anything is decoded.
+ */
+public final class HmacTokenCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+
+    private final String currentKeyId;
+    private final Map<String, ThreadLocal<Mac>> macs = new HashMap<>();
+
+    /**
+     * @param subject     authenticated user name
+     * @param authorities granted authorities, e.g. ROLE_ADMIN
+     * @param expiresAt   expiry in epoch seconds
+     */
+    public record Claims(String subject, List<String> authorities, long expiresAt) {
+    }
+
+    /**
+     * @param currentKeyId id of the key that signs new tokens
+     * @param keys         secrets by key id, at least 32 bytes each
+     */
+    public HmacTokenCodec(String currentKeyId, Map<String, byte[]> keys) {
+        if (!keys.containsKey(currentKeyId)) {
+            throw new IllegalArgumentException("Unknown current key: " + currentKeyId);
+        }
+        keys.forEach((keyId, secret) -> {
+            if (keyId.isEmpty() || keyId.indexOf('|') >= 0) {
+                throw new IllegalArgumentException("Invalid key id: " + keyId);
+            }
+            if (secret.length < MIN_KEY_BYTES) {
+                throw new IllegalArgumentException("Key " + keyId + " must have at least " + MIN_KEY_BYTES + " bytes");
+            }
+            SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+            macs.put(keyId, ThreadLocal.withInitial(() -> newMac(key)));
+        });
+        this.currentKeyId = currentKeyId;
+    }
+
+    public String encode(Claims claims) {
+        String payload = currentKeyId + '|' + claims.expiresAt() + '|' + String.join(",", claims.authorities())
+                + '|' + claims.subject();
+        String encodedPayload = base64(payload.getBytes(StandardCharsets.UTF_8));
+        return encodedPayload + '.' + base64(sign(currentKeyId, encodedPayload));
+    }
+
+    /**
+     * @param nowEpochSeconds current time
+     * @return the claims, empty when the token is malformed, signed with an unknown key, forged or expired
+     */
+    public Optional<Claims> decode(String token, long nowEpochSeconds) {
+        int dot = token.indexOf('.');
+        if (dot < 1 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        String encodedPayload = token.substring(0, dot);
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(encodedPayload), StandardCharsets.UTF_8);
+            String[] parts = payload.split("\\|", 4);
+            if (parts.length != 4 || !macs.containsKey(parts[0])) {
+                return Optional.empty();
+            }
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(parts[0], encodedPayload))) {
+                return Optional.empty();
+            }
+            long expiresAt = Long.parseLong(parts[1]);
+            if (expiresAt <= nowEpochSeconds) {
+                return Optional.empty();
+            }
+            List<String> authorities = parts[2].isEmpty() ? List.of() : Arrays.asList(parts[2].split(","));
+            return Optional.of(new Claims(parts[3], authorities, expiresAt));
+        } catch (IllegalArgumentException e) {
+            // bad base64 or expiry
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String keyId, String encodedPayload) {
+        return macs.get(keyId).get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
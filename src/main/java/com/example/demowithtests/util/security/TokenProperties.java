@@ -0,0 +1,16 @@
+package com.example.demowithtests.util.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param ttl        lifetime of issued tokens
+ * @param currentKey id of the key signing new tokens
+ * @param keys       base64 secrets of at least 32 bytes by key id; blank entries are ignored, and without any key
+ *                   a random one is generated, so tokens do not survive a restart and are not shared between instances
+ */
+@ConfigurationProperties(prefix = "app.security.token")
+public record TokenProperties(Duration ttl, String currentKey, Map<String, String> keys) {
+}
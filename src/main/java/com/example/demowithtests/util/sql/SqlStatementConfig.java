@@ -0,0 +1,44 @@
+package com.example.demowithtests.util.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+
+/**
+ * Wraps every {@link DataSource} in a datasource-proxy that reports statements, their time and the rows read
+ * to {@link SqlStatementRecorder}. Unwrapping a connection (e.g. to PGConnection for COPY) still reaches
+ * the driver connection.
+ */
+@Configuration
+public class SqlStatementConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatementDataSourceProxy() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder
+                        .create(dataSource)
+                        .name(beanName)
+                        .afterQuery((execution, queries) -> SqlStatementRecorder.statementExecuted(execution.getElapsedTime()))
+                        .proxyResultSet()
+                        .afterMethod(execution -> {
+                            if (execution.getTarget() instanceof ResultSet
+                                    && "next".equals(execution.getMethod().getName())
+                                    && Boolean.TRUE.equals(execution.getResult())) {
+                                SqlStatementRecorder.rowRead();
+                            }
+                        })
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demowithtests.util.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the JDBC work of every request and publishes it as the metrics sql.request.statements,
+ * sql.request.rows and sql.request.time, tagged with the method and the URI pattern.
+ * The response headers are written by {@link SqlStatementHeaderAdvice}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementRecorder.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementStats stats = SqlStatementRecorder.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            log.debug("doFilterInternal() - {} {}: {}", request.getMethod(), uri, stats);
+            meterRegistry.ifAvailable(registry -> publish(registry, Tags.of("method", request.getMethod(), "uri", uri), stats));
+        }
+    }
+
+    private static void publish(MeterRegistry registry, Tags tags, SqlStatementStats stats) {
+        DistributionSummary.builder("sql.request.statements").tags(tags).register(registry).record(stats.statements());
+        DistributionSummary.builder("sql.request.rows").tags(tags).register(registry).record(stats.rows());
+        Timer.builder("sql.request.time").tags(tags).register(registry).record(stats.timeMillis(), TimeUnit.MILLISECONDS);
+    }
+}
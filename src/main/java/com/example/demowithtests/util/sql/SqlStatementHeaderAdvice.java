@@ -0,0 +1,42 @@
+package com.example.demowithtests.util.sql;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the JDBC work recorded so far to every response body as X-Sql-Statements, X-Sql-Rows and X-Sql-Time-Ms.
+ * Headers must be set before the body is written, so lazy loading during serialization is not included;
+ * the metrics of {@link SqlStatementFilter} are.
+ */
+@ControllerAdvice
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatementStats stats = SqlStatementRecorder.current();
+        if (stats != null) {
+            HttpHeaders headers = response.getHeaders();
+            headers.set(STATEMENTS_HEADER, String.valueOf(stats.statements()));
+            headers.set(ROWS_HEADER, String.valueOf(stats.rows()));
+            headers.set(TIME_HEADER, String.valueOf(stats.timeMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demowithtests.util.sql;
+
+/**
+ * Thread-bound recording of JDBC work, fed by the data source proxy of {@link SqlStatementConfig}.
+ * Work on other threads (async rebuilds, streamed responses) is not attributed to the recording.
+ */
+public final class SqlStatementRecorder {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementRecorder() {
+    }
+
+    /**
+     * Starts a new recording on this thread, replacing any previous one.
+     */
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return the recording of this thread, null when nothing is recorded
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static SqlStatementStats stop() {
+        SqlStatementStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void statementExecuted(long elapsedMillis) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statementExecuted(elapsedMillis);
+        }
+    }
+
+    static void rowRead() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.rowRead();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demowithtests.util.sql;
+
+/**
+ * JDBC work recorded on one thread, usually for one HTTP request.
+ * A statement is one round trip: an execute call, or one executeBatch for a whole batch.
+ */
+public final class SqlStatementStats {
+
+    private long statements;
+    private long rows;
+    private long timeMillis;
+
+    void statementExecuted(long elapsedMillis) {
+        statements++;
+        timeMillis += elapsedMillis;
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    /**
+     * @return rows read from result sets
+     */
+    public long rows() {
+        return rows;
+    }
+
+    public long timeMillis() {
+        return timeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "statements = " + statements + ", rows = " + rows + ", timeMillis = " + timeMillis;
+    }
+}
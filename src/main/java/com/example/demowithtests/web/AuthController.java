@@ -0,0 +1,40 @@
+package com.example.demowithtests.web;
+
+import com.example.demowithtests.dto.AuthTokenDto;
+import com.example.demowithtests.service.auth.AuthTokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import static com.example.demowithtests.util.Endpoints.API_BASE;
+import static com.example.demowithtests.util.Endpoints.AUTH_ENDPOINT;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(API_BASE)
+@Slf4j
+@Tag(name = "Auth", description = "Token API")
+public class AuthController {
+
+    private final AuthTokenService authTokenService;
+
+    @PostMapping(AUTH_ENDPOINT)
+    @Operation(summary = "Exchanges HTTP Basic credentials for a bearer token.",
+            description = "Send the token as 'Authorization: Bearer <token>' until it expires.", tags = {"Auth"})
+    public ResponseEntity<AuthTokenDto> issueToken(Authentication authentication) {
+        log.debug("issueToken() AuthController - start: name = {}", authentication.getName());
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken)) {
+            // a token must not extend its own lifetime
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        AuthTokenDto token = authTokenService.issue(authentication);
+        log.debug("issueToken() AuthController - end: expiresIn = {}", token.expiresIn());
+        return ResponseEntity.ok(token);
+    }
+}
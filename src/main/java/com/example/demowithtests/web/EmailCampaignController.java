@@ -0,0 +1,33 @@
+package com.example.demowithtests.web;
+
+import com.example.demowithtests.dto.EmailCampaignDto;
+import com.example.demowithtests.service.outbox.EmailOutboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import static com.example.demowithtests.util.Endpoints.API_BASE;
+import static com.example.demowithtests.util.Endpoints.CAMPAIGN_ENDPOINT;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(API_BASE)
+@Slf4j
+@Tag(name = "Campaign", description = "Email campaign API")
+public class EmailCampaignController {
+
+    private final EmailOutboxService emailOutboxService;
+
+    @GetMapping(CAMPAIGN_ENDPOINT + "/{id}")
+    @Operation(summary = "Delivery state of an email campaign.",
+            description = "Counts the pending, sent and dead messages of the campaign.", tags = {"Campaign"})
+    public ResponseEntity<EmailCampaignDto> getCampaign(@PathVariable Long id) {
+        log.debug("getCampaign() EmailCampaignController - start: id = {}", id);
+        return emailOutboxService.getCampaign(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
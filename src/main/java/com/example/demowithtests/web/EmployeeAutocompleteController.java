@@ -0,0 +1,35 @@
+package com.example.demowithtests.web;
+
+import com.example.demowithtests.dto.EmployeeNameDto;
+import com.example.demowithtests.service.autocomplete.NameAutocompleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static com.example.demowithtests.util.Endpoints.API_BASE;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(API_BASE)
+@Slf4j
+@Tag(name = "Employee autocomplete", description = "Employee name autocomplete API")
+public class EmployeeAutocompleteController {
+
+    private final NameAutocompleteService nameAutocompleteService;
+
+    @GetMapping("/users/autocomplete")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Suggests employees whose name starts with the prefix.",
+            description = "Served from an in-memory name index; returns ids and names only.",
+            tags = {"Employee autocomplete"})
+    public List<EmployeeNameDto> autocomplete(@RequestParam String prefix,
+                                              @RequestParam(defaultValue = "10") int limit) {
+        log.debug("autocomplete() EmployeeAutocompleteController - start: prefix = {}, limit = {}", prefix, limit);
+        return nameAutocompleteService.autocomplete(prefix, limit);
+    }
+}
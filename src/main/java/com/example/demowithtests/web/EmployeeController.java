@@ -3,10 +3,16 @@ package com.example.demowithtests.web;
 import com.example.demowithtests.domain.Document;
 import com.example.demowithtests.domain.Employee;
 import com.example.demowithtests.domain.History;
+import com.example.demowithtests.domain.JobType;
 import com.example.demowithtests.dto.*;
+import com.example.demowithtests.repository.EmployeeKeysetRepository.SortKey;
 import com.example.demowithtests.service.EmployeeService;
 import com.example.demowithtests.service.EmployeeServiceEM;
+import com.example.demowithtests.service.count.CountStrategy;
 import com.example.demowithtests.service.document.DocumentService;
+import com.example.demowithtests.service.job.JobService;
+import com.example.demowithtests.service.job.RemoveAllJobHandler;
+import com.example.demowithtests.service.job.RenameAllJobHandler;
 import com.example.demowithtests.util.mappers.DocumentMapper;
 import com.example.demowithtests.util.mappers.EmployeeMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,6 +26,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
@@ -34,11 +41,17 @@ import static com.example.demowithtests.util.Endpoints.USER_ENDPOINT;
 @Tag(name = "Employee", description = "Employee API")
 public class EmployeeController {
 
+    /**
+     * Tells the client whether the total of a page is exact, cached or a planner estimate.
+     */
+    public static final String COUNT_STRATEGY_HEADER = "X-Total-Count-Strategy";
+
     private final EmployeeService employeeService;
     private final EmployeeServiceEM employeeServiceEM;
     private final EmployeeMapper employeeMapper;
     private final DocumentMapper documentMapper;
     private final DocumentService documentService;
+    private final JobService jobService;
 
     @PostMapping(USER_ENDPOINT)
     @ResponseStatus(HttpStatus.CREATED)
@@ -69,18 +82,36 @@ public class EmployeeController {
     @GetMapping("/users")
     @ResponseStatus(HttpStatus.OK)
     public List<EmployeeDto> getAllUsers() {
-        return employeeMapper.toListEmployeeDto(employeeService.getAll());
+        return employeeService.getAllDtos();
     }
 
     @GetMapping("/users/pages")
     @ResponseStatus(HttpStatus.OK)
-    public Page<EmployeeReadDto> getPage(
-            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "5") int size) {
-        log.debug("getPage() - start: page= {}, size = {}", page, size);
+    public ResponseEntity<Page<EmployeeReadDto>> getPage(
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "5") int size,
+            @RequestParam(required = false) CountStrategy countStrategy) {
+        log.debug("getPage() - start: page= {}, size = {}, countStrategy = {}", page, size, countStrategy);
         var paging = PageRequest.of(page, size);
-        var content = employeeService.getAllWithPagination(paging)
-                .map(employeeMapper::toEmployeeReadDto);
+        var content = countStrategy == null
+                ? new CountedPageDto<>(employeeService.getAllWithPagination(paging), CountStrategy.EXACT)
+                : employeeService.getAllWithPagination(paging, countStrategy);
         log.debug("getPage() - end: content = {}", content);
+        return withCountStrategy(content.map(employeeMapper::toEmployeeReadDto));
+    }
+
+    @GetMapping("/users/pages/keyset")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Keyset paging over all employees.",
+            description = "Pass nextToken of the previous response as token to get the next page. No total is counted.",
+            tags = {"Employee"})
+    public KeysetSliceDto<EmployeeReadDto> getKeysetPage(@RequestParam(required = false) String token,
+                                                         @RequestParam(defaultValue = "5") int size,
+                                                         @RequestParam(defaultValue = "ID") SortKey sortBy,
+                                                         @RequestParam(defaultValue = "ASC") Sort.Direction sortOrder) {
+        log.debug("getKeysetPage() - start: size = {}, sortBy = {}, sortOrder = {}", size, sortBy, sortOrder);
+        var content = employeeService.findPageAfter(null, sortBy, sortOrder, token, size)
+                .map(employeeMapper::toEmployeeReadDto);
+        log.debug("getKeysetPage() - end: hasNext = {}", content.hasNext());
         return content;
     }
 
@@ -94,9 +125,7 @@ public class EmployeeController {
             @ApiResponse(responseCode = "409", description = "Employee already exists")})
     public EmployeeReadDto getEmployeeById(@PathVariable Integer id) {
         log.debug("getEmployeeById() EmployeeController - start: id = {}", id);
-        var employee = employeeService.getById(id);
-        log.debug("getById() EmployeeController - to dto start: id = {}", id);
-        var dto = employeeMapper.toEmployeeReadDto(employee);
+        var dto = employeeService.getReadDtoById(id);
         log.debug("getEmployeeById() EmployeeController - end: name = {}", dto.name);
         return dto;
     }
@@ -118,21 +147,58 @@ public class EmployeeController {
     }
 
     @DeleteMapping("/users")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void removeAllUsers() {
-        employeeService.removeAll();
+    @Operation(summary = "Soft deletes all employees in a job.",
+            description = "Returns at once, poll the job for progress and the number of removed employees.",
+            tags = {"Employee"})
+    public ResponseEntity<JobDto> removeAllUsers(@RequestParam(defaultValue = "10000") int chunkSize) {
+        log.debug("removeAllUsers() EmployeeController - start: chunkSize = {}", chunkSize);
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        JobDto job = jobService.submit(JobType.REMOVE_ALL, new RemoveAllJobHandler.Parameters(chunkSize));
+        log.debug("removeAllUsers() EmployeeController - end: job = {}", job.id());
+        return JobController.accepted(job);
     }
 
     @GetMapping("/users/country")
     @ResponseStatus(HttpStatus.OK)
-    public Page<EmployeeReadDto> findByCountry(@RequestParam(required = false) String country,
-                                               @RequestParam(defaultValue = "0") int page,
-                                               @RequestParam(defaultValue = "3") int size,
-                                               @RequestParam(defaultValue = "") List<String> sortList,
-                                               @RequestParam(defaultValue = "DESC") Sort.Direction sortOrder) {
+    public ResponseEntity<Page<EmployeeReadDto>> findByCountry(@RequestParam(required = false) String country,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "3") int size,
+                                                               @RequestParam(defaultValue = "") List<String> sortList,
+                                                               @RequestParam(defaultValue = "DESC") Sort.Direction sortOrder,
+                                                               @RequestParam(required = false) CountStrategy countStrategy) {
         //Pageable paging = PageRequest.of(page, size);
         //Pageable paging = PageRequest.of(page, size, Sort.by("name").ascending());
-        return employeeService.findByCountryContaining(country, page, size, sortList, sortOrder.toString()).map(employeeMapper::toEmployeeReadDto);
+        var content = countStrategy == null
+                ? new CountedPageDto<>(employeeService.findByCountryContaining(country, page, size, sortList,
+                sortOrder.toString()), CountStrategy.EXACT)
+                : employeeService.findByCountryContaining(country, page, size, sortList, sortOrder.toString(),
+                countStrategy);
+        return withCountStrategy(content.map(employeeMapper::toEmployeeReadDto));
+    }
+
+    private static ResponseEntity<Page<EmployeeReadDto>> withCountStrategy(CountedPageDto<EmployeeReadDto> content) {
+        return ResponseEntity.ok()
+                .header(COUNT_STRATEGY_HEADER, content.countStrategy().name())
+                .body(content.page());
+    }
+
+    @GetMapping("/users/country/keyset")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Keyset paging over employees filtered by country.",
+            description = "Pass nextToken of the previous response as token to get the next page. No total is counted.",
+            tags = {"Employee"})
+    public KeysetSliceDto<EmployeeReadDto> findByCountryKeyset(@RequestParam(required = false) String country,
+                                                               @RequestParam(required = false) String token,
+                                                               @RequestParam(defaultValue = "3") int size,
+                                                               @RequestParam(defaultValue = "ID") SortKey sortBy,
+                                                               @RequestParam(defaultValue = "DESC") Sort.Direction sortOrder) {
+        log.debug("findByCountryKeyset() - start: country = {}, size = {}", country, size);
+        var content = employeeService.findPageAfter(country, sortBy, sortOrder, token, size)
+                .map(employeeMapper::toEmployeeReadDto);
+        log.debug("findByCountryKeyset() - end: hasNext = {}", content.hasNext());
+        return content;
     }
 
     @GetMapping("/users/c")
@@ -147,6 +213,17 @@ public class EmployeeController {
         return employeeService.getSortCountry();
     }
 
+    @GetMapping("/users/countries")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Country facets.", description = "Employee counts per country, optionally for countries starting with a prefix.",
+            tags = {"Employee"})
+    public List<CountryCountDto> getCountryFacets(@RequestParam(required = false) String prefix) {
+        log.debug("getCountryFacets() EmployeeController - start: prefix = {}", prefix);
+        List<CountryCountDto> facets = employeeService.getCountryFacets(prefix);
+        log.debug("getCountryFacets() EmployeeController - end: countries = {}", facets.size());
+        return facets;
+    }
+
     @GetMapping("/users/emails")
     @ResponseStatus(HttpStatus.OK)
     public Optional<String> getAllUsersSo() {
@@ -156,22 +233,27 @@ public class EmployeeController {
     @GetMapping("/users/countryBy")
     @ResponseStatus(HttpStatus.OK)
     public List<EmployeeDto> getByCountry(@RequestParam(required = true) String country) {
-        return employeeMapper.toListEmployeeDto(employeeService.filterByCountry(country));
+        return employeeService.filterDtosByCountry(country);
     }
 
     @PatchMapping("/users/ukrainians")
-    @ResponseStatus(HttpStatus.OK)
-    public Set<String> sendEmailsAllUkrainian() {
-        return employeeService.sendEmailsAllUkrainian();
+    @Operation(summary = "Queues the information update reminder for all employees from Ukraine.",
+            description = "Returns at once, the job's result is the campaign to poll for the delivery state.",
+            tags = {"Employee"})
+    public ResponseEntity<JobDto> sendEmailsAllUkrainian() {
+        log.debug("sendEmailsAllUkrainian() Controller - start");
+        JobDto job = jobService.submit(JobType.UKRAINIANS_MAIL, null);
+        log.debug("sendEmailsAllUkrainian() Controller - end: job = {}", job.id());
+        return JobController.accepted(job);
     }
 
     @GetMapping("/users/names")
     @ResponseStatus(HttpStatus.OK)
     public List<EmployeeDto> findByNameContaining(@RequestParam String employeeName) {
         log.debug("findByNameContaining() EmployeeController - start: employeeName = {}", employeeName);
-        List<Employee> employees = employeeService.findByNameContaining(employeeName);
+        List<EmployeeDto> employees = employeeService.findDtosByNameContaining(employeeName);
         log.debug("findByNameContaining() EmployeeController - end: employees = {}", employees.size());
-        return employeeMapper.toListEmployeeDto(employees);
+        return employees;
     }
 
     @PatchMapping("/users/names/{id}")
@@ -210,21 +292,38 @@ public class EmployeeController {
     }
 
     @PutMapping("/users/names/all")
-    @ResponseStatus(HttpStatus.OK)
-    public Integer updateAllNamesWithPut(@RequestBody String name) {
+    public ResponseEntity<JobDto> updateAllNamesWithPut(@RequestBody String name,
+                                         @RequestParam(required = false) String country,
+                                         @RequestParam(required = false) Boolean deleted,
+                                         @RequestParam(required = false) Integer fromId,
+                                         @RequestParam(required = false) Integer toId,
+                                         @RequestParam(required = false) Integer chunkSize) {
         log.debug("updateAllNamesWithPut() EmployeeController - start: name = {}", name);
-        List<Employee> employees = employeeService.getAll();
-        log.debug("updateAllNamesWithPut() EmployeeController - end: name = {}", name);
-        return employeeService.updateAllNames(employees, name).size();
+        var filter = new EmployeeFilterDto(country, deleted, fromId, toId);
+        JobDto job = submitRenameAll(name, filter, chunkSize);
+        log.debug("updateAllNamesWithPut() EmployeeController - end: job = {}", job.id());
+        return JobController.accepted(job);
     }
 
     @PatchMapping("/users/names/all")
-    @ResponseStatus(HttpStatus.OK)
-    public Integer updateAllNamesWithPatch(@RequestBody String name) {
+    public ResponseEntity<JobDto> updateAllNamesWithPatch(@RequestBody String name,
+                                           @RequestParam(required = false) String country,
+                                           @RequestParam(required = false) Boolean deleted,
+                                           @RequestParam(required = false) Integer fromId,
+                                           @RequestParam(required = false) Integer toId,
+                                           @RequestParam(required = false) Integer chunkSize) {
         log.debug("updateAllNamesWithPatch() EmployeeController - start: name = {}", name);
-        List<Employee> employees = employeeService.getAll();
-        log.debug("updateAllNamesWithPatch() EmployeeController - end: name = {}", name);
-        return employeeService.updateAllNames(employees, name).size();
+        var filter = new EmployeeFilterDto(country, deleted, fromId, toId);
+        JobDto job = submitRenameAll(name, filter, chunkSize);
+        log.debug("updateAllNamesWithPatch() EmployeeController - end: job = {}", job.id());
+        return JobController.accepted(job);
+    }
+
+    private JobDto submitRenameAll(String name, EmployeeFilterDto filter, Integer chunkSize) {
+        if (chunkSize != null && chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        return jobService.submit(JobType.RENAME_ALL, new RenameAllJobHandler.Parameters(name, filter, chunkSize));
     }
 
     @PutMapping("/users/edit/{id}")
@@ -249,18 +348,18 @@ public class EmployeeController {
     @ResponseStatus(HttpStatus.OK)
     public List<EmployeeDto> findByNameStartingWith(@RequestParam("startingChars") String startingChars) {
         log.debug("findByNameStartingWith() EmployeeController - start: startingChars = {}", startingChars);
-        List<Employee> foundUsers = employeeService.findByNameStartingWith(startingChars);
+        List<EmployeeDto> foundUsers = employeeService.findDtosByNameStartingWith(startingChars);
         log.debug("findByNameStartingWith() EmployeeController - end: startingChars = {}", startingChars);
-        return employeeMapper.toListEmployeeDto(foundUsers);
+        return foundUsers;
     }
 
     @GetMapping("/users/find/name/ending")
     @ResponseStatus(HttpStatus.OK)
     public List<EmployeeDto> findByNameEndingWith(@RequestParam("endingChars") String endingChars) {
         log.debug("findByNameEndingWith() EmployeeController - start: endingChars = {}", endingChars);
-        List<Employee> foundUsers = employeeService.findByNameEndingWith(endingChars);
+        List<EmployeeDto> foundUsers = employeeService.findDtosByNameEndingWith(endingChars);
         log.debug("findByNameEndingWith() EmployeeController - end: endingChars = {}", endingChars);
-        return employeeMapper.toListEmployeeDto(foundUsers);
+        return foundUsers;
     }
 
     @PatchMapping("/users/edit/{id}/add-document")
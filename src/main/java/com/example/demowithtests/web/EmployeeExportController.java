@@ -0,0 +1,47 @@
+package com.example.demowithtests.web;
+
+import com.example.demowithtests.service.exporter.EmployeeExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import static com.example.demowithtests.util.Endpoints.API_BASE;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(API_BASE)
+@Slf4j
+@Tag(name = "Employee export", description = "Bulk employee export API")
+public class EmployeeExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    private final EmployeeExportService employeeExportService;
+
+    @GetMapping("/users/export")
+    @Operation(summary = "Streams all employees as NDJSON or CSV.",
+            description = "The rows are read from a database cursor and written as they arrive, the response is never buffered.",
+            tags = {"Employee export"})
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.debug("exportEmployees() EmployeeExportController - start: format = {}", format);
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        StreamingResponseBody body = csv ? employeeExportService::exportCsv : employeeExportService::exportNdjson;
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employees." + (csv ? "csv" : "ndjson"))
+                .body(body);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demowithtests.web;
+
+import com.example.demowithtests.dto.ImportReportDto;
+import com.example.demowithtests.service.importer.EmployeeImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.example.demowithtests.util.Endpoints.API_BASE;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(API_BASE)
+@Slf4j
+@Tag(name = "Employee import", description = "Bulk employee import API")
+public class EmployeeImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final EmployeeImportService employeeImportService;
+
+    @PostMapping(value = "/users/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Streams NDJSON or CSV employees into the database.",
+            description = "Lines are validated and written in batches, the response lists the rejected lines.",
+            tags = {"Employee import"})
+    public ImportReportDto importEmployees(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                           InputStream body) throws IOException {
+        log.debug("importEmployees() EmployeeImportController - start: contentType = {}", contentType);
+        boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE));
+        ImportReportDto report = csv ? employeeImportService.importCsv(body) : employeeImportService.importNdjson(body);
+        log.debug("importEmployees() EmployeeImportController - end: imported = {}, rejected = {}",
+                report.imported(), report.rejected());
+        return report;
+    }
+}
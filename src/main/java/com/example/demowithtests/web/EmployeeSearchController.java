@@ -0,0 +1,37 @@
+package com.example.demowithtests.web;
+
+import com.example.demowithtests.dto.SearchPageDto;
+import com.example.demowithtests.service.search.EmployeeSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import static com.example.demowithtests.util.Endpoints.API_BASE;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(API_BASE)
+@Slf4j
+@Tag(name = "Employee search", description = "Fuzzy employee search API")
+public class EmployeeSearchController {
+
+    private final EmployeeSearchService employeeSearchService;
+
+    @GetMapping("/users/search")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Ranked fuzzy search by name and country.",
+            description = "Hits are ranked by trigram similarity; threshold is the minimum similarity of a hit.",
+            tags = {"Employee search"})
+    public SearchPageDto search(@RequestParam("q") String query,
+                                @RequestParam(defaultValue = "0.3") double threshold,
+                                @RequestParam(defaultValue = "0") int page,
+                                @RequestParam(defaultValue = "20") int size) {
+        log.debug("search() EmployeeSearchController - start: query = {}, threshold = {}", query, threshold);
+        SearchPageDto result = employeeSearchService.search(query, threshold, page, size);
+        log.debug("search() EmployeeSearchController - end: hits = {}", result.hits().size());
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demowithtests.web;
+
+import com.example.demowithtests.dto.JobDto;
+import com.example.demowithtests.service.job.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+import static com.example.demowithtests.util.Endpoints.API_BASE;
+import static com.example.demowithtests.util.Endpoints.API_JOBS;
+import static com.example.demowithtests.util.Endpoints.JOB_ENDPOINT;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(API_BASE)
+@Slf4j
+@Tag(name = "Job", description = "Long-running admin operations API")
+public class JobController {
+
+    private final JobService jobService;
+
+    @GetMapping(JOB_ENDPOINT + "/{id}")
+    @Operation(summary = "State of a job.",
+            description = "Status, progress, average rows per second and estimated time left.", tags = {"Job"})
+    public ResponseEntity<JobDto> getJob(@PathVariable Long id) {
+        log.debug("getJob() JobController - start: id = {}", id);
+        return jobService.get(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping(JOB_ENDPOINT + "/{id}/cancel")
+    @Operation(summary = "Cancels a job.",
+            description = "A queued job is cancelled at once, a running job stops at its next checkpoint " +
+                    "and keeps the work already committed.", tags = {"Job"})
+    public ResponseEntity<JobDto> cancelJob(@PathVariable Long id) {
+        log.debug("cancelJob() JobController - start: id = {}", id);
+        return jobService.cancel(id)
+                .map(job -> ResponseEntity.status(job.status().isFinished() ? HttpStatus.OK : HttpStatus.ACCEPTED)
+                        .body(job))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Response of an endpoint that started a job: 202 pointing at the job, whatever state it reached meanwhile.
+     * A full job queue is a {@link com.example.demowithtests.util.exception.JobRejectedException}, answered with 503.
+     */
+    static ResponseEntity<JobDto> accepted(JobDto job) {
+        return ResponseEntity.accepted()
+                .location(URI.create(API_JOBS + "/" + job.id()))
+                .body(job);
+    }
+}
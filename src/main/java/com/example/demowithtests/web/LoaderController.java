@@ -1,14 +1,17 @@
 package com.example.demowithtests.web;
 
-import com.example.demowithtests.service.fillDataBase.LoaderService;
+import com.example.demowithtests.domain.Gender;
+import com.example.demowithtests.domain.JobType;
+import com.example.demowithtests.dto.JobDto;
+import com.example.demowithtests.service.fillDataBase.GenerationSettings;
+import com.example.demowithtests.service.job.JobService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.function.Function;
 
 @RestController
 @AllArgsConstructor
@@ -16,15 +19,28 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class LoaderController {
 
-    private final LoaderService loaderService;
+    private final JobService jobService;
 
-    @ResponseStatus(HttpStatus.OK)
-    @GetMapping("/users/fill")
-    public String fillDataBase() {
-        log.info("fillDataBase() LoaderController - start: ");
-        loaderService.generateData();
-        String count = "Amount clients: " + loaderService.count();
-        log.info("fillDataBase() LoaderController - end: count = {}", count);
-        return count;
+    /**
+     * Starts the generation as a job, poll {@code GET /api/jobs/{id}} for progress and the ingestion report.
+     *
+     * @param countries weights like {@code Ukraine:3,Poland:1}, random countries when omitted
+     * @param genders   weights like {@code M:1,F:2}, uniform when omitted
+     */
+    @RequestMapping(value = "/users/fill", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<JobDto> fillDataBase(@RequestParam(defaultValue = "2000") long rows,
+                                               @RequestParam(defaultValue = "1") long seed,
+                                               @RequestParam(defaultValue = "2") int addressesPerEmployee,
+                                               @RequestParam(defaultValue = "0") double documentRatio,
+                                               @RequestParam(defaultValue = "0") double historyRatio,
+                                               @RequestParam(required = false) String countries,
+                                               @RequestParam(required = false) String genders) {
+        log.info("fillDataBase() LoaderController - start: rows = {}, seed = {}", rows, seed);
+        var settings = new GenerationSettings(rows, seed, addressesPerEmployee, documentRatio, historyRatio,
+                GenerationSettings.parseWeights(countries, Function.identity()),
+                GenerationSettings.parseWeights(genders, Gender::valueOf));
+        JobDto job = jobService.submit(JobType.FILL, settings);
+        log.info("fillDataBase() LoaderController - end: job = {}, status = {}", job.id(), job.status());
+        return JobController.accepted(job);
     }
 }
@@ -1,11 +1,15 @@
 package com.example.demowithtests.web.document;
 
 import com.example.demowithtests.domain.Document;
+import com.example.demowithtests.dto.HistoryDto;
+import com.example.demowithtests.dto.KeysetSliceDto;
 import com.example.demowithtests.service.document.DocumentService;
+import com.example.demowithtests.service.history.HistoryService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -15,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 public class DocumentController implements DocumentResource {
 
     private final DocumentService documentService;
+    private final HistoryService historyService;
 
     /**
      * @param document
@@ -37,4 +42,25 @@ public class DocumentController implements DocumentResource {
     public Document getDocumentById(@PathVariable Integer id) {
         return documentService.getById(id);
     }
+
+    /**
+     * @param id    document id
+     * @param token nextToken of the previous page
+     * @param size  records per page
+     * @return history of the document, newest first
+     */
+    @Override
+    @GetMapping("/documents/{id}/history")
+    public ResponseEntity<KeysetSliceDto<HistoryDto>> getDocumentHistory(@PathVariable Integer id,
+                                                                         @RequestParam(required = false) String token,
+                                                                         @RequestParam(defaultValue = "20") int size) {
+        log.debug("getDocumentHistory() DocumentController - start: id = {}, size = {}", id, size);
+        if (!documentService.exists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        var page = historyService.findPage(id, token, size);
+        log.debug("getDocumentHistory() DocumentController - end: rows = {}, hasNext = {}",
+                page.content().size(), page.hasNext());
+        return ResponseEntity.ok(page);
+    }
 }
@@ -1,6 +1,9 @@
 package com.example.demowithtests.web.document;
 
 import com.example.demowithtests.domain.Document;
+import com.example.demowithtests.dto.HistoryDto;
+import com.example.demowithtests.dto.KeysetSliceDto;
+import org.springframework.http.ResponseEntity;
 
 
 public interface DocumentResource {
@@ -8,4 +11,6 @@ public interface DocumentResource {
     Document createDocument(Document document);
 
     Document getDocumentById(Integer id);
+
+    ResponseEntity<KeysetSliceDto<HistoryDto>> getDocumentHistory(Integer id, String token, int size);
 }
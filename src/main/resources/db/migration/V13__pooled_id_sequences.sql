@@ -0,0 +1,19 @@
+-- Sequences for the pooled optimizer (allocationSize = 50 in the entities).
+-- Each nextval() reserves a block of 50 ids, so the increment must match allocationSize.
+create sequence if not exists users_seq increment by 50;
+create sequence if not exists addresses_seq increment by 50;
+create sequence if not exists documents_seq increment by 50;
+create sequence if not exists history_seq increment by 50;
+
+-- The pooled optimizer hands out (value - 49 .. value), so the first value must lie 50 above the current max id.
+select setval('users_seq', (select coalesce(max(id), 0) + 50 from users), false);
+select setval('addresses_seq', (select coalesce(max(id), 0) + 50 from addresses), false);
+select setval('documents_seq', (select coalesce(max(id), 0) + 50 from documents), false);
+select setval('history_seq', (select coalesce(max(id), 0) + 50 from history), false);
+
+-- Native inserts that rely on the column default draw from the same sequences, so they never collide with
+-- ids already handed out by Hibernate. The old serial sequences stay in place but are no longer used.
+alter table users alter column id set default nextval('users_seq');
+alter table addresses alter column id set default nextval('addresses_seq');
+alter table documents alter column id set default nextval('documents_seq');
+alter table history alter column id set default nextval('history_seq');
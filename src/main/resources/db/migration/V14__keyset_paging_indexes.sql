@@ -0,0 +1,5 @@
+-- Keyset paging seeks on (sort expression, id). The text columns are sorted as coalesce(column, ''),
+-- so the indexes are built on the same expressions; paging by id alone uses the primary key.
+create index if not exists users_name_id_idx on users ((coalesce(name, '')), id);
+create index if not exists users_country_id_idx on users ((coalesce(country, '')), id);
+create index if not exists users_email_id_idx on users ((coalesce(email, '')), id);
@@ -0,0 +1,5 @@
+-- Country facets group and sort by country and filter by prefix (country LIKE 'U%').
+-- The plain index serves ORDER BY / GROUP BY in the database collation, the pattern_ops index serves the prefix
+-- LIKE independent of the collation.
+create index if not exists users_country_idx on users (country);
+create index if not exists users_country_pattern_idx on users (country varchar_pattern_ops);
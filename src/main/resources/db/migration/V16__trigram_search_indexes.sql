@@ -0,0 +1,6 @@
+-- Trigram GIN indexes serve substring LIKE / ILIKE ('%x%', '%x') and the similarity operator (%) of the search API,
+-- which B-tree indexes cannot do.
+create extension if not exists pg_trgm;
+
+create index if not exists users_name_trgm_idx on users using gin (name gin_trgm_ops);
+create index if not exists users_country_trgm_idx on users using gin (country gin_trgm_ops);
@@ -0,0 +1,23 @@
+-- Suffix searches (name LIKE '%tin') become prefix searches on the reversed name (name_reversed LIKE 'nit%'),
+-- which a B-tree index can serve as a range scan. The key is reverse(lower(trim(name))), as in
+-- EntityFormatting.toReversedKey.
+alter table users add column if not exists name_reversed varchar(255);
+
+update users set name_reversed = reverse(lower(trim(name))) where name is not null;
+
+-- JPA keeps the column up to date on its own; the trigger covers native inserts and updates and COPY.
+create or replace function users_name_reversed() returns trigger as
+$$
+begin
+    new.name_reversed := reverse(lower(trim(new.name)));
+    return new;
+end;
+$$ language plpgsql;
+
+create trigger trigger_users_name_reversed
+    before insert or update of name
+    on users
+    for each row
+execute function users_name_reversed();
+
+create index if not exists users_name_reversed_idx on users (name_reversed varchar_pattern_ops);
@@ -0,0 +1,38 @@
+-- Logins look users up by name, one row at a time, instead of loading the whole table at startup.
+-- Names were already unique in practice: the former in-memory user store refused duplicates.
+create unique index if not exists users_with_roles_name_uq on users_with_roles (name);
+
+-- Tells the user details cache which names changed, the payload is the name (old and new on a rename).
+create or replace function users_with_roles_notify() returns trigger as
+$$
+begin
+    if tg_op in ('UPDATE', 'DELETE') then
+        perform pg_notify('users_with_roles_changed', old.name);
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') then
+        perform pg_notify('users_with_roles_changed', new.name);
+    end if;
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger trigger_users_with_roles_notify
+    after insert or update or delete
+    on users_with_roles
+    for each row
+execute function users_with_roles_notify();
+
+-- TRUNCATE has no rows, an empty payload drops the whole cache.
+create or replace function users_with_roles_notify_truncate() returns trigger as
+$$
+begin
+    perform pg_notify('users_with_roles_changed', '');
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger trigger_users_with_roles_notify_truncate
+    after truncate
+    on users_with_roles
+    for each statement
+execute function users_with_roles_notify_truncate();
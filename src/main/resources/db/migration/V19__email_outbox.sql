@@ -0,0 +1,31 @@
+-- Mail is no longer sent inside the HTTP request: a campaign writes one outbox row per recipient in the same
+-- transaction that selects the recipients, and the outbox workers deliver the rows afterwards.
+create sequence if not exists email_campaigns_seq increment by 50;
+create sequence if not exists email_outbox_seq increment by 50;
+
+create table if not exists email_campaigns
+(
+    id         bigint       not null default nextval('email_campaigns_seq') primary key,
+    name       varchar(255) not null,
+    recipients integer      not null,
+    created_at timestamp    not null default now()
+);
+
+create table if not exists email_outbox
+(
+    id              bigint        not null default nextval('email_outbox_seq') primary key,
+    campaign_id     bigint        not null references email_campaigns (id) on delete cascade,
+    employee_id     integer,
+    recipient       varchar(255)  not null,
+    subject         varchar(255)  not null,
+    body            varchar(4000) not null,
+    status          varchar(16)   not null default 'PENDING' check (status in ('PENDING', 'SENT', 'DEAD')),
+    attempts        integer       not null default 0,
+    next_attempt_at timestamp     not null default now(),
+    last_error      varchar(1000),
+    sent_at         timestamp
+);
+
+-- Workers claim due rows in next_attempt_at order; the partial index only holds rows that still wait for delivery.
+create index if not exists email_outbox_due_idx on email_outbox (next_attempt_at, id) where status = 'PENDING';
+create index if not exists email_outbox_campaign_idx on email_outbox (campaign_id, status);
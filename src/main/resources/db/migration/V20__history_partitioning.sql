@@ -0,0 +1,79 @@
+-- history becomes a table partitioned by month on date_and_time. Retention drops whole partitions
+-- (HistoryPartitionMaintenance) instead of deleting rows, and a document's history is read newest first
+-- through the (document, date_and_time, id) index, which every partition inherits.
+alter table history rename to history_legacy;
+alter table history_legacy rename constraint "id_pk" to history_legacy_pk;
+alter table history_legacy rename constraint "document_fk" to history_legacy_document_fk;
+
+-- The partition key must be part of the primary key and cannot be null. Rows without a time get the epoch,
+-- so they land in the oldest partition and are the first to expire.
+update history_legacy set date_and_time = timestamp '1970-01-01' where date_and_time is null;
+
+create table history
+(
+    id            int          not null default nextval('history_seq'),
+    description   varchar(255),
+    date_and_time timestamp    not null,
+    document      int,
+    constraint history_pk primary key (id, date_and_time),
+    constraint history_document_fk foreign key (document) references documents (id)
+) partition by range (date_and_time);
+
+-- Catches rows outside the monthly partitions, e.g. when maintenance did not run; it should stay empty.
+create table history_default partition of history default;
+
+-- Creates the monthly partitions history_pYYYY_MM for [first_month, first_month + months), existing ones are kept.
+create or replace function history_create_partitions(first_month date, months int) returns void as
+$$
+declare
+    month_start date;
+begin
+    for i in 0 .. months - 1
+        loop
+            month_start := date_trunc('month', first_month)::date + make_interval(months => i);
+            execute format('create table if not exists %I partition of history for values from (%L) to (%L)',
+                           'history_p' || to_char(month_start, 'YYYY_MM'),
+                           month_start,
+                           (month_start + interval '1 month')::date);
+        end loop;
+end;
+$$ language plpgsql;
+
+-- Moves rows that landed in the default partition (bulk loads of past dates) into monthly partitions of their own,
+-- so they are covered by retention again. Returns the number of moved rows.
+create or replace function history_split_default() returns int as
+$$
+declare
+    month_start date;
+    part_name   text;
+    moved_rows  int;
+    moved       int := 0;
+begin
+    for month_start in select distinct date_trunc('month', date_and_time)::date from history_default
+        loop
+            part_name := 'history_p' || to_char(month_start, 'YYYY_MM');
+            execute format('create table %I (like history including defaults including constraints)', part_name);
+            execute format('with moved as (delete from history_default where date_and_time >= %L and date_and_time < %L '
+                               || 'returning id, description, date_and_time, document) insert into %I select * from moved',
+                           month_start, (month_start + interval '1 month')::date, part_name);
+            get diagnostics moved_rows = row_count;
+            moved := moved + moved_rows;
+            execute format('alter table history attach partition %I for values from (%L) to (%L)',
+                           part_name, month_start, (month_start + interval '1 month')::date);
+        end loop;
+    return moved;
+end;
+$$ language plpgsql;
+
+-- A partition for every month that has rows, plus the current month and three months ahead.
+select history_create_partitions(month, 1)
+from (select distinct date_trunc('month', date_and_time)::date as month from history_legacy) months;
+select history_create_partitions(date_trunc('month', now())::date, 4);
+
+insert into history (id, description, date_and_time, document)
+select id, description, date_and_time, document
+from history_legacy;
+
+drop table history_legacy;
+
+create index if not exists history_document_time_idx on history (document, date_and_time desc, id desc);
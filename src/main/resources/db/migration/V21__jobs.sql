@@ -0,0 +1,24 @@
+-- Long-running admin operations run as jobs. The row is the job's state, so status, progress and the parameters
+-- needed to start it again survive a restart of the application.
+create sequence if not exists jobs_seq increment by 50;
+
+create table if not exists jobs
+(
+    id               bigint        not null default nextval('jobs_seq') primary key,
+    type             varchar(32)   not null,
+    status           varchar(16)   not null check (status in ('QUEUED', 'RUNNING', 'SUCCEEDED', 'FAILED', 'CANCELLED')),
+    parameters       varchar(4000) not null,
+    total_units      bigint        not null default 0,
+    done_units       bigint        not null default 0,
+    processed_rows   bigint        not null default 0,
+    cancel_requested boolean       not null default false,
+    result           varchar(4000),
+    error            varchar(1000),
+    created_at       timestamp     not null default now(),
+    started_at       timestamp,
+    updated_at       timestamp,
+    finished_at      timestamp
+);
+
+-- Startup recovery looks up the unfinished jobs.
+create index if not exists jobs_unfinished_idx on jobs (status) where status in ('QUEUED', 'RUNNING');
@@ -1,10 +1,18 @@
 package com.example.demowithtests;
 
 import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.domain.JobStatus;
+import com.example.demowithtests.domain.JobType;
 import com.example.demowithtests.dto.EmployeeDto;
 import com.example.demowithtests.dto.EmployeeReadDto;
+import com.example.demowithtests.dto.JobDto;
 import com.example.demowithtests.service.EmployeeService;
 import com.example.demowithtests.service.EmployeeServiceEM;
+import com.example.demowithtests.service.document.DocumentService;
+import com.example.demowithtests.service.job.JobService;
+import com.example.demowithtests.service.job.RemoveAllJobHandler;
+import com.example.demowithtests.util.exception.JobRejectedException;
+import com.example.demowithtests.util.mappers.DocumentMapper;
 import com.example.demowithtests.util.mappers.EmployeeMapper;
 import com.example.demowithtests.web.EmployeeController;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -27,6 +35,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -37,6 +46,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -58,6 +68,15 @@ public class ControllerTests {
     @MockBean
     EmployeeMapper employeeMapper;
 
+    @MockBean
+    DocumentMapper documentMapper;
+
+    @MockBean
+    DocumentService documentService;
+
+    @MockBean
+    JobService jobService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -101,8 +120,10 @@ public class ControllerTests {
         var employeeToBeReturn = Employee.builder()
                 .id(1)
                 .name("Mark")
+                .email("mark@mail.com")
                 .country("France").build();
 
+        when(employeeMapper.toEmployee(any(EmployeeDto.class))).thenReturn(employeeToBeReturn);
         doReturn(employeeToBeReturn).when(serviceEM).createWithJpa(any());
         when(this.serviceEM.createWithJpa(any(Employee.class))).thenReturn(employeeToBeReturn);
         // Execute the POST request
@@ -129,13 +150,7 @@ public class ControllerTests {
         response.id = 1;
         response.name = "Mike";
 
-        var employee = Employee.builder()
-                .id(1)
-                .name("Mike")
-                .build();
-
-        when(employeeMapper.toEmployeeReadDto(any(Employee.class))).thenReturn(response);
-        when(service.getById(1)).thenReturn(employee);
+        when(service.getReadDtoById(1)).thenReturn(response);
 
         MockHttpServletRequestBuilder mockRequest = get("/api/users/1");
 
@@ -144,7 +159,7 @@ public class ControllerTests {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name", is("Mike")));
 
-        verify(service).getById(1);
+        verify(service).getReadDtoById(1);
     }
 
     @Test
@@ -177,7 +192,7 @@ public class ControllerTests {
     @WithMockUser(roles = "ADMIN")
     public void deletePassTest() throws Exception {
 
-        doNothing().when(service).removeByIdCompletely(1);
+        doNothing().when(service).removeById(1);
 
         MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders
                 .delete("/api/users/1")
@@ -186,7 +201,58 @@ public class ControllerTests {
         mockMvc.perform(mockRequest)
                 .andExpect(status().isNoContent());
 
-        verify(service).removeByIdCompletely(1);
+        verify(service).removeById(1);
+    }
+
+    @Test
+    @DisplayName("DELETE API -> /api/users starts a job")
+    @WithMockUser(roles = "ADMIN")
+    public void removeAllStartsJobTest() throws Exception {
+
+        var job = new JobDto(7L, JobType.REMOVE_ALL, JobStatus.QUEUED, false, null, 0, null, null, null, null,
+                LocalDateTime.now(), null, null);
+        when(jobService.submit(eq(JobType.REMOVE_ALL), any())).thenReturn(job);
+
+        MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders
+                .delete("/api/users")
+                .param("chunkSize", "500")
+                .with(csrf());
+
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/jobs/7"))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
+
+        verify(jobService).submit(JobType.REMOVE_ALL, new RemoveAllJobHandler.Parameters(500));
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("DELETE API -> /api/users reports a job that already failed as started")
+    @WithMockUser(roles = "ADMIN")
+    public void removeAllFailedJobIsAcceptedTest() throws Exception {
+
+        var job = new JobDto(8L, JobType.REMOVE_ALL, JobStatus.FAILED, false, null, 0, null, null, null, "boom",
+                LocalDateTime.now(), null, null);
+        when(jobService.submit(eq(JobType.REMOVE_ALL), any())).thenReturn(job);
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/users").with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/jobs/8"));
+    }
+
+    @Test
+    @DisplayName("DELETE API -> /api/users with a full job queue")
+    @WithMockUser(roles = "ADMIN")
+    public void removeAllRejectedTest() throws Exception {
+
+        var job = new JobDto(9L, JobType.REMOVE_ALL, JobStatus.FAILED, false, null, 0, null, null, null,
+                "Rejected, the job queue is full", LocalDateTime.now(), null, null);
+        when(jobService.submit(eq(JobType.REMOVE_ALL), any())).thenThrow(new JobRejectedException(job));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/users").with(csrf()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.id", is(9)));
     }
 
     @Test
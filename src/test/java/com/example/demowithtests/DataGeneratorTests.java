@@ -0,0 +1,87 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.domain.Gender;
+import com.example.demowithtests.service.fillDataBase.EmployeeDataGenerator;
+import com.example.demowithtests.service.fillDataBase.GenerationSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Employee Data Generator Tests")
+public class DataGeneratorTests {
+
+    private final GenerationSettings settings = new GenerationSettings(
+            7_500, 42, 2, 0.5, 0.5, Map.of("Ukraine", 3.0, "Poland", 1.0), Map.of(Gender.F, 1.0, Gender.M, 1.0));
+
+    @Test
+    @DisplayName("Generated rows do not depend on the thread count")
+    public void sameRowsForAnyParallelismTest() {
+
+        List<String> singleThreaded = generate(1);
+        List<String> multiThreaded = generate(4);
+
+        assertThat(singleThreaded).hasSize(7_500);
+        assertThat(multiThreaded).isEqualTo(singleThreaded);
+    }
+
+    @Test
+    @DisplayName("Generated rows follow the requested distributions")
+    public void distributionsTest() {
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            List<Employee> employees = new EmployeeDataGenerator(settings, "run", executor, 1).generate().toList();
+
+            assertThat(employees).allSatisfy(employee -> {
+                assertThat(employee.getCountry()).isIn("Ukraine", "Poland");
+                assertThat(employee.getAddresses()).hasSize(2);
+                assertThat(employee.getIsDeleted()).isFalse();
+            });
+            assertThat(employees.stream().filter(employee -> employee.getDocument() != null).count())
+                    .isBetween(3_400L, 4_100L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Document numbers of two runs with the same seed do not collide")
+    public void documentNumbersPerRunTest() {
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            List<Employee> first = new EmployeeDataGenerator(settings, "first", executor, 1).generate().toList();
+            List<Employee> second = new EmployeeDataGenerator(settings, "second", executor, 1).generate().toList();
+
+            assertThat(second).extracting(Employee::getEmail).isEqualTo(first.stream().map(Employee::getEmail).toList());
+            List<String> numbers = Stream.concat(first.stream(), second.stream())
+                    .filter(employee -> employee.getDocument() != null)
+                    .map(employee -> employee.getDocument().getNumber())
+                    .toList();
+            assertThat(numbers).isNotEmpty().doesNotHaveDuplicates();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> generate(int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return new EmployeeDataGenerator(settings, "run", executor, threads).generate()
+                    .map(employee -> employee.getName() + "|" + employee.getEmail() + "|" + employee.getCountry()
+                            + "|" + employee.getGender() + "|"
+                            + (employee.getDocument() == null ? "-" : employee.getDocument().getUuid()))
+                    .toList();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
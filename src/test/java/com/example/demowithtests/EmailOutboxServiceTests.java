@@ -0,0 +1,69 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.domain.Gender;
+import com.example.demowithtests.dto.EmailMessageDto;
+import com.example.demowithtests.service.outbox.EmailOutboxService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.mail.outbox.enabled=false")
+@DisplayName("Email Outbox Service Tests")
+public class EmailOutboxServiceTests {
+
+    private static final String CAMPAIGN = "outbox-service-test";
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM email_outbox WHERE campaign_id IN (SELECT id FROM email_campaigns WHERE name = ?)",
+                CAMPAIGN);
+        jdbcTemplate.update("DELETE FROM email_campaigns WHERE name = ?", CAMPAIGN);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", "outbox@mail.com");
+    }
+
+    @Test
+    @DisplayName("Campaign larger than a flush keeps the caller's entities attached test")
+    public void callerEntitiesStayAttachedTest() {
+
+        List<EmailMessageDto> messages = IntStream.range(0, 1_001)
+                .mapToObj(i -> new EmailMessageDto(i, "user" + i + "@mail.com", "Subject", "Body"))
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Employee employee = Employee.builder().name("Outbox").country("Ukraine").email("outbox@mail.com")
+                    .gender(Gender.F).build();
+            entityManager.persist(employee);
+
+            var campaign = emailOutboxService.createCampaign(CAMPAIGN, messages);
+
+            assertThat(campaign.recipients()).isEqualTo(1_001);
+            assertThat(entityManager.contains(employee)).isTrue();
+        });
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM email_outbox o JOIN email_campaigns c "
+                + "ON c.id = o.campaign_id WHERE c.name = ?", Integer.class, CAMPAIGN)).isEqualTo(1_001);
+    }
+}
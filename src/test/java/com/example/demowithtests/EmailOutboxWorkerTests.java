@@ -0,0 +1,176 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.domain.EmailOutbox;
+import com.example.demowithtests.domain.EmailStatus;
+import com.example.demowithtests.dto.EmailMessageDto;
+import com.example.demowithtests.repository.EmailOutboxRepository;
+import com.example.demowithtests.service.emailSevice.EmailSenderService;
+import com.example.demowithtests.service.outbox.EmailOutboxWorker;
+import com.example.demowithtests.service.outbox.PerMinuteRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Email Outbox Worker Tests")
+public class EmailOutboxWorkerTests {
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @Mock
+    private EmailSenderService emailSenderService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new EmailOutboxWorker(outboxRepository, emailSenderService, new TransactionTemplate(transactionManager),
+                false, 1, 10, 60_000, 3, Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofSeconds(1),
+                Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Delivered message is marked sent test")
+    public void deliveredMessageIsSentTest() {
+
+        EmailOutbox message = message(0);
+        when(outboxRepository.claimDue(eq(EmailStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(message));
+
+        when(emailSenderService.sendEmails(List.of(new EmailMessageDto(null, "olha@mail.com", "Subject", "Body"))))
+                .thenReturn(Map.of());
+
+        assertThat(worker.drainBatch()).isEqualTo(1);
+        assertThat(message.getStatus()).isEqualTo(EmailStatus.SENT);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getSentAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Failed message is retried with backoff test")
+    public void failedMessageIsRetriedTest() {
+
+        EmailOutbox message = message(1);
+        when(outboxRepository.claimDue(eq(EmailStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(message));
+        when(emailSenderService.sendEmails(anyList()))
+                .thenReturn(Map.of(0, new MailSendException("421 try again later")));
+
+        LocalDateTime before = LocalDateTime.now();
+        worker.drainBatch();
+
+        assertThat(message.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(2);
+        assertThat(message.getLastError()).isEqualTo("421 try again later");
+        // second failure: 30s doubled
+        assertThat(message.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(60));
+    }
+
+    @Test
+    @DisplayName("Message is dead after the last attempt test")
+    public void lastAttemptMakesMessageDeadTest() {
+
+        EmailOutbox message = message(2);
+        when(outboxRepository.claimDue(eq(EmailStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(message));
+        when(emailSenderService.sendEmails(anyList()))
+                .thenReturn(Map.of(0, new MailSendException("550 mailbox unavailable")));
+
+        worker.drainBatch();
+
+        assertThat(message.getStatus()).isEqualTo(EmailStatus.DEAD);
+        assertThat(message.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Claim commits before sending and the outcome is recorded separately test")
+    public void sendsOutsideTransactionTest() {
+
+        EmailOutbox message = message(0);
+        when(outboxRepository.claimDue(eq(EmailStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(message));
+        LocalDateTime before = LocalDateTime.now();
+        when(emailSenderService.sendEmails(anyList())).thenAnswer(invocation -> {
+            // the claim is already counted and leased when the server is contacted
+            assertThat(message.getAttempts()).isEqualTo(1);
+            assertThat(message.getNextAttemptAt()).isAfterOrEqualTo(before.plusMinutes(5));
+            return Map.of();
+        });
+
+        worker.drainBatch();
+
+        InOrder inOrder = inOrder(outboxRepository, emailSenderService, transactionManager);
+        inOrder.verify(outboxRepository).claimDue(eq(EmailStatus.PENDING), any(LocalDateTime.class), any(Pageable.class));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(emailSenderService).sendEmails(anyList());
+        inOrder.verify(outboxRepository).saveAll(List.of(message));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Sender exception counts as a failed attempt test")
+    public void senderExceptionSchedulesRetryTest() {
+
+        EmailOutbox message = message(0);
+        when(outboxRepository.claimDue(eq(EmailStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(message));
+        when(emailSenderService.sendEmails(anyList())).thenThrow(new IllegalStateException("connection reset"));
+
+        LocalDateTime before = LocalDateTime.now();
+        assertThat(worker.drainBatch()).isEqualTo(1);
+
+        assertThat(message.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getLastError()).isEqualTo("connection reset");
+        assertThat(message.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Rate limiter spaces the permits test")
+    public void rateLimiterSpacesPermitsTest() {
+
+        PerMinuteRateLimiter limiter = new PerMinuteRateLimiter(600);
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.acquire()).isTrue();
+        }
+        // the first permit is free, the next two wait 100 ms each
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+
+    private static EmailOutbox message(int attempts) {
+        return EmailOutbox.builder()
+                .id(1L)
+                .campaignId(1L)
+                .recipient("olha@mail.com")
+                .subject("Subject")
+                .body("Body")
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.dto.EmailMessageDto;
+import com.example.demowithtests.service.emailSevice.EmailSenderServiceBean;
+import com.example.demowithtests.util.MessageTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Slf4j
+@DisplayName("Email Sender Service Tests")
+public class EmailSenderServiceTests {
+
+    /**
+     * Stands in for the STARTTLS and AUTH round trips that every new session costs against a real server.
+     */
+    private static final long HANDSHAKE_MILLIS = 5;
+
+    @Test
+    @DisplayName("Batch reuses one session per messages-per-connection test")
+    public void batchReusesSessionsTest() throws Exception {
+
+        try (SmtpStandIn smtp = new SmtpStandIn(0)) {
+            var sender = new EmailSenderServiceBean(mailSender(smtp), 10);
+
+            var failures = sender.sendEmails(messages(25));
+
+            assertThat(failures).isEmpty();
+            assertThat(smtp.messages()).hasSize(25);
+            assertThat(smtp.connections()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Rejected recipient fails only its own message test")
+    public void rejectedRecipientTest() throws Exception {
+
+        try (SmtpStandIn smtp = new SmtpStandIn(0)) {
+            smtp.reject("user3@mail.com");
+            var sender = new EmailSenderServiceBean(mailSender(smtp), 100);
+
+            var failures = sender.sendEmails(messages(5));
+
+            assertThat(failures).containsOnlyKeys(3);
+            assertThat(smtp.messages()).hasSize(4);
+        }
+    }
+
+    /**
+     * Throughput of one session per message against 100 messages per session, logged and not asserted:
+     * wall-clock rates depend on the machine. Runs with {@code mvn test -Pbenchmarks -Dtest=EmailSenderServiceTests}.
+     */
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Batch send throughput against the embedded SMTP server benchmark")
+    public void batchThroughputBenchmark() throws Exception {
+
+        var messages = messages(200);
+        for (long handshakeMillis : new long[]{0, HANDSHAKE_MILLIS}) {
+            try (SmtpStandIn smtp = new SmtpStandIn(handshakeMillis)) {
+                var perMessage = new EmailSenderServiceBean(mailSender(smtp), 1);
+                var batched = new EmailSenderServiceBean(mailSender(smtp), 100);
+                // warm-up
+                perMessage.sendEmails(messages.subList(0, 20));
+                batched.sendEmails(messages.subList(0, 20));
+
+                double perMessageRate = throughput(messages.size(), () -> perMessage.sendEmails(messages));
+                double batchedRate = throughput(messages.size(), () -> batched.sendEmails(messages));
+                log.info("SMTP throughput, {} ms handshake: one session per message {} msg/s, "
+                                + "100 messages per session {} msg/s", handshakeMillis,
+                        Math.round(perMessageRate), Math.round(batchedRate));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Compiled template renders placeholders test")
+    public void templateRendersPlaceholdersTest() {
+
+        var template = MessageTemplate.compile("Dear {name}!\nYour {item} expires, {name}. {not a placeholder}");
+
+        assertThat(template.render(Map.of("name", "Olha", "item", "passport")))
+                .isEqualTo("Dear Olha!\nYour passport expires, Olha. {not a placeholder}");
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of("name", "Olha")));
+    }
+
+    private static double throughput(int messages, Runnable send) {
+        long start = System.nanoTime();
+        send.run();
+        return messages / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static List<EmailMessageDto> messages(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new EmailMessageDto(i, "user" + i + "@mail.com", "Need to update your information",
+                        "Dear User" + i + "!"))
+                .toList();
+    }
+
+    private static JavaMailSenderImpl mailSender(SmtpStandIn smtp) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtp.port());
+        mailSender.getJavaMailProperties().put("mail.smtp.from", "info@localhost");
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "false");
+        mailSender.getJavaMailProperties().put("mail.smtp.starttls.enable", "false");
+        return mailSender;
+    }
+}
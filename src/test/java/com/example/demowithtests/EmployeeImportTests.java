@@ -0,0 +1,68 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.dto.ImportErrorDto;
+import com.example.demowithtests.dto.ImportReportDto;
+import com.example.demowithtests.service.importer.EmployeeImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports over H2 through the real ingestion, so the database itself rejects the offending line.
+ */
+@SpringBootTest
+@DisplayName("Employee Import Tests")
+public class EmployeeImportTests {
+
+    private static final String EMAILS = "import%@mail.com";
+
+    @Autowired
+    private EmployeeImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM addresses WHERE employee_id IN (SELECT id FROM users WHERE email LIKE ?)", EMAILS);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", EMAILS);
+    }
+
+    @Test
+    @DisplayName("A row rejected by the database fails only its own line test")
+    public void rejectedRowFailsOnlyItsLineTest() throws Exception {
+
+        // addresses.street is varchar(255)
+        String street = "S".repeat(300);
+        String ndjson = """
+                {"name":"Anna","country":"Poland","email":"import1@mail.com","addresses":[{"country":"PL","city":"Lodz","street":"Main"}]}
+                {"name":"Boris","country":"Ukraine","email":"import2@mail.com","addresses":[{"country":"UA","city":"Lviv","street":"%s"}]}
+                {"name":"Clara","country":"Spain","email":"import3@mail.com","addresses":[{"country":"ES","city":"Vigo","street":"Mar"}]}
+                {"name":"Dmytro","country":"Ukraine","email":"import4@mail.com"}
+                {"name":"Eva","email":"import5@mail.com"}
+                """.formatted(street);
+
+        ImportReportDto report = importService.importNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.lines()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.errors()).extracting(ImportErrorDto::line).containsExactlyInAnyOrder(2L, 5L);
+        assertThat(report.errors()).filteredOn(error -> error.line() == 2)
+                .singleElement()
+                .satisfies(error -> assertThat(error.message()).startsWith("Write failed").containsIgnoringCase("street"));
+        assertThat(report.errors()).filteredOn(error -> error.line() == 5)
+                .singleElement()
+                .satisfies(error -> assertThat(error.message()).startsWith("country"));
+        assertThat(jdbcTemplate.queryForList("SELECT email FROM users WHERE email LIKE ?", String.class, EMAILS))
+                .containsExactlyInAnyOrder("import1@mail.com", "import3@mail.com", "import4@mail.com");
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.dto.EmployeeEmailDto;
+import com.example.demowithtests.dto.EmployeeReadDto;
+import com.example.demowithtests.service.cache.EmployeeReadCacheBean;
+import com.example.demowithtests.util.mappers.EmployeeMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Employee Read Cache Tests")
+public class EmployeeReadCacheTests {
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private EmployeeReadCacheBean cache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new EmployeeReadCacheBean(employeeMapper, meterRegistry, 100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Misses are cached test")
+    public void missIsCachedTest() {
+
+        assertThat(cache.getEmailDto("nobody@mail.com", counting(Optional.empty()))).isEmpty();
+        assertThat(cache.getEmailDto("nobody@mail.com", counting(Optional.empty()))).isEmpty();
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Evicting an employee drops its email entry test")
+    public void evictDropsEmailEntryTest() {
+
+        var employee = Employee.builder().id(7).name("Mark").email("mark@mail.com").build();
+        var dto = new EmployeeEmailDto("Mark", null, "mark@mail.com");
+        when(employeeMapper.toEmployeeEmailDto(employee)).thenReturn(dto);
+
+        assertThat(cache.getEmailDto("mark@mail.com", counting(Optional.of(employee)))).contains(dto);
+        assertThat(cache.getEmailDto("mark@mail.com", counting(Optional.of(employee)))).contains(dto);
+        cache.evict(7);
+        assertThat(cache.getEmailDto("mark@mail.com", counting(Optional.empty()))).isEmpty();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Evicting an email drops a cached miss test")
+    public void evictEmailDropsMissTest() {
+
+        assertThat(cache.getReadDto(3, counting(Optional.empty()))).isEmpty();
+        cache.evictEmail("other@mail.com");
+        assertThat(cache.getReadDto(3, counting(Optional.empty()))).isEmpty();
+        assertThat(cache.getEmailDto("new@mail.com", counting(Optional.empty()))).isEmpty();
+        cache.evictEmail("new@mail.com");
+        assertThat(cache.getEmailDto("new@mail.com", counting(Optional.empty()))).isEmpty();
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Eviction inside a transaction waits for the commit test")
+    public void evictAfterCommitTest() {
+
+        var employee = Employee.builder().id(7).name("Mark").email("mark@mail.com").build();
+        when(employeeMapper.toEmployeeEmailDto(employee)).thenReturn(new EmployeeEmailDto("Mark", null, "mark@mail.com"));
+        cache.getEmailDto("mark@mail.com", counting(Optional.of(employee)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(7);
+            // a read before the commit still sees the cached entry
+            cache.getEmailDto("mark@mail.com", counting(Optional.of(employee)));
+            assertThat(loads).hasValue(1);
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cache.getEmailDto("mark@mail.com", counting(Optional.of(employee)));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Every read gets its own copy with a fresh date test")
+    public void readDtoIsCopiedTest() {
+
+        var employee = Employee.builder().id(5).name("Olha").email("olha@mail.com").build();
+        var mapped = new EmployeeReadDto();
+        mapped.id = 5;
+        mapped.name = "Olha";
+        mapped.date = new Date(0);
+        when(employeeMapper.toEmployeeReadDto(employee)).thenReturn(mapped);
+
+        var first = cache.getReadDto(5, counting(Optional.of(employee))).orElseThrow();
+        first.name = "changed";
+        var second = cache.getReadDto(5, counting(Optional.of(employee))).orElseThrow();
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).isNotSameAs(first).isNotSameAs(mapped);
+        assertThat(second.name).isEqualTo("Olha");
+        assertThat(second.date).isAfter(new Date(0));
+    }
+
+    private Supplier<Optional<Employee>> counting(Optional<Employee> result) {
+        return () -> {
+            loads.incrementAndGet();
+            return result;
+        };
+    }
+}
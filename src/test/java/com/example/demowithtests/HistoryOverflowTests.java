@@ -0,0 +1,64 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.repository.HistoryRepository;
+import com.example.demowithtests.service.history.HistoryServiceBean;
+import com.example.demowithtests.service.history.HistoryWriteBehindQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The caller-thread fallback of a full write-behind queue against a real transaction manager. The queue's flusher is
+ * never started, so it stays full after the first record.
+ */
+@SpringBootTest
+@DisplayName("History Overflow Tests")
+public class HistoryOverflowTests {
+
+    private static final String DESCRIPTION = "Overflow record";
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM history WHERE description LIKE ?", DESCRIPTION + "%");
+    }
+
+    @Test
+    @DisplayName("Record written after commit by a caller of a full queue is stored test")
+    public void overflowAfterCommitIsStoredTest() {
+
+        HistoryWriteBehindQueue queue = new HistoryWriteBehindQueue(historyRepository, transactionTemplate,
+                meterRegistry, 1, 10, Duration.ofSeconds(1), Duration.ofMillis(10));
+        HistoryServiceBean historyService = new HistoryServiceBean(historyRepository, queue, true);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            historyService.record(DESCRIPTION + " queued", null);
+            historyService.record(DESCRIPTION + " written", null);
+        });
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM history WHERE description = ?",
+                Integer.class, DESCRIPTION + " written")).isEqualTo(1);
+    }
+}
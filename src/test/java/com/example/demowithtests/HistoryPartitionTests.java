@@ -0,0 +1,38 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.service.history.HistoryPartitionMaintenance;
+import com.example.demowithtests.util.HistoryCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("History Partition Tests")
+public class HistoryPartitionTests {
+
+    @Test
+    @DisplayName("Only monthly partitions past the retention expire test")
+    public void expiredPartitionsTest() {
+
+        var partitions = List.of("history_p2024_03", "history_default", "history_p2022_04", "history_p2022_05",
+                "history_p1970_01", "history_p2024_04");
+
+        assertThat(HistoryPartitionMaintenance.expiredPartitions(partitions, YearMonth.of(2024, 5), 24))
+                .containsExactly("history_p1970_01", "history_p2022_04");
+    }
+
+    @Test
+    @DisplayName("History cursor round trip test")
+    public void cursorRoundTripTest() {
+
+        var cursor = new HistoryCursor(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000), 42);
+
+        assertThat(HistoryCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decode("not a token"));
+    }
+}
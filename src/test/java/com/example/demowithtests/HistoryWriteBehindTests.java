@@ -0,0 +1,147 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.domain.History;
+import com.example.demowithtests.repository.HistoryRepository;
+import com.example.demowithtests.service.history.HistoryWriteBehindQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("History Write-Behind Tests")
+public class HistoryWriteBehindTests {
+
+    @Mock
+    private HistoryRepository historyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private HistoryWriteBehindQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.stop();
+    }
+
+    @Test
+    @DisplayName("Full batches are flushed by size test")
+    public void flushBySizeTest() throws InterruptedException {
+
+        List<Integer> batches = recordBatches(null);
+        queue = queue(100, 10, Duration.ofSeconds(10));
+        queue.start();
+
+        for (int i = 0; i < 20; i++) {
+            queue.enqueue(history(i));
+        }
+
+        verify(historyRepository, timeout(2_000).times(2)).saveAll(anyList());
+        assertThat(batches).containsExactly(10, 10);
+    }
+
+    @Test
+    @DisplayName("Partial batch is flushed after the interval test")
+    public void flushByTimeTest() {
+
+        List<Integer> batches = recordBatches(null);
+        queue = queue(100, 500, Duration.ofMillis(50));
+        queue.start();
+
+        for (int i = 0; i < 3; i++) {
+            queue.enqueue(history(i));
+        }
+
+        verify(historyRepository, timeout(2_000)).saveAll(anyList());
+        assertThat(batches).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Queued records are flushed on stop test")
+    public void flushOnStopTest() throws InterruptedException {
+
+        List<Integer> batches = recordBatches(null);
+        queue = queue(100, 500, Duration.ofSeconds(1));
+        queue.start();
+
+        for (int i = 0; i < 7; i++) {
+            queue.enqueue(history(i));
+        }
+        queue.stop();
+
+        assertThat(batches.stream().mapToInt(Integer::intValue).sum()).isEqualTo(7);
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Full queue makes the caller write its record test")
+    public void backpressureTest() throws InterruptedException {
+
+        CountDownLatch release = new CountDownLatch(1);
+        recordBatches(release);
+        queue = queue(2, 1, Duration.ofMillis(10));
+        queue.start();
+
+        // the first record blocks the flusher, the next two fill the queue
+        queue.enqueue(history(0));
+        verify(historyRepository, timeout(2_000)).saveAll(anyList());
+        queue.enqueue(history(1));
+        queue.enqueue(history(2));
+        verify(historyRepository, never()).save(any(History.class));
+
+        queue.enqueue(history(3));
+
+        verify(historyRepository).save(any(History.class));
+        release.countDown();
+    }
+
+    private List<Integer> recordBatches(CountDownLatch release) {
+        List<Integer> batches = new CopyOnWriteArrayList<>();
+        when(historyRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<History> batch = invocation.getArgument(0);
+            batches.add(batch.size());
+            if (release != null) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return batch;
+        });
+        return batches;
+    }
+
+    private HistoryWriteBehindQueue queue(int capacity, int batchSize, Duration flushInterval) {
+        return new HistoryWriteBehindQueue(historyRepository, new TransactionTemplate(transactionManager),
+                meterRegistry, capacity, batchSize, flushInterval, Duration.ofMillis(50));
+    }
+
+    private static History history(int i) {
+        return History.builder()
+                .description("record " + i)
+                .dateAndTime(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.util.security.HmacTokenCodec;
+import com.example.demowithtests.util.security.HmacTokenCodec.Claims;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HMAC Token Codec Tests")
+public class HmacTokenCodecTests {
+
+    private static final long NOW = 1_700_000_000L;
+
+    private static final byte[] OLD_KEY = key(1);
+    private static final byte[] NEW_KEY = key(2);
+
+    private final Claims claims = new Claims("admin|x", List.of("ROLE_ADMIN", "ROLE_USER"), NOW + 60);
+
+    @Test
+    @DisplayName("Issued token verifies until it expires test")
+    public void roundTripTest() {
+
+        var codec = new HmacTokenCodec("k1", Map.of("k1", OLD_KEY));
+        String token = codec.encode(claims);
+
+        assertThat(codec.decode(token, NOW)).contains(claims);
+        assertThat(codec.decode(token, NOW + 60)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Tampered or foreign tokens are rejected test")
+    public void tamperedTokenTest() {
+
+        var codec = new HmacTokenCodec("k1", Map.of("k1", OLD_KEY));
+        String token = codec.encode(claims);
+        String forged = new HmacTokenCodec("k1", Map.of("k1", NEW_KEY)).encode(claims);
+        char first = token.charAt(0);
+
+        assertThat(codec.decode(forged, NOW)).isEmpty();
+        assertThat(codec.decode((first == 'a' ? 'b' : 'a') + token.substring(1), NOW)).isEmpty();
+        assertThat(codec.decode("not-a-token", NOW)).isEmpty();
+        assertThat(codec.decode("a.b.c", NOW)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Tokens of the previous key verify after rotation test")
+    public void keyRotationTest() {
+
+        String oldToken = new HmacTokenCodec("k1", Map.of("k1", OLD_KEY)).encode(claims);
+        var rotated = new HmacTokenCodec("k2", Map.of("k1", OLD_KEY, "k2", NEW_KEY));
+        var retired = new HmacTokenCodec("k2", Map.of("k2", NEW_KEY));
+
+        assertThat(rotated.decode(oldToken, NOW)).contains(claims);
+        assertThat(rotated.decode(rotated.encode(claims), NOW)).contains(claims);
+        assertThat(retired.decode(oldToken, NOW)).isEmpty();
+    }
+
+    private static byte[] key(int fill) {
+        byte[] key = new byte[32];
+        Arrays.fill(key, (byte) fill);
+        return key;
+    }
+}
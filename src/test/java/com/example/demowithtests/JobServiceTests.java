@@ -0,0 +1,191 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.domain.Job;
+import com.example.demowithtests.domain.JobStatus;
+import com.example.demowithtests.domain.JobType;
+import com.example.demowithtests.dto.JobDto;
+import com.example.demowithtests.repository.JobRepository;
+import com.example.demowithtests.service.job.JobContext;
+import com.example.demowithtests.service.job.JobHandler;
+import com.example.demowithtests.service.job.JobServiceBean;
+import com.example.demowithtests.service.job.RemoveAllJobHandler;
+import com.example.demowithtests.util.exception.JobRejectedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Job Service Tests")
+public class JobServiceTests {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    private JobServiceBean jobService;
+
+    @BeforeEach
+    void setUp() {
+        // removes one window of 10 ids per call to advance, 3 windows in total
+        JobHandler<RemoveAllJobHandler.Parameters> handler = new JobHandler<>() {
+            @Override
+            public JobType type() {
+                return JobType.REMOVE_ALL;
+            }
+
+            @Override
+            public Class<RemoveAllJobHandler.Parameters> parametersType() {
+                return RemoveAllJobHandler.Parameters.class;
+            }
+
+            @Override
+            public Integer run(RemoveAllJobHandler.Parameters parameters, JobContext context) {
+                context.total(30);
+                for (int i = 0; i < 3; i++) {
+                    context.advance(10, parameters.chunkSize());
+                }
+                return 3 * parameters.chunkSize();
+            }
+        };
+        jobService = new JobServiceBean(jobRepository, new ObjectMapper(), List.of(handler), 1, 1, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        jobService.stop();
+    }
+
+    @Test
+    @DisplayName("Submitted job runs and stores its result test")
+    public void submittedJobSucceedsTest() {
+
+        Job job = job(1L, JobStatus.QUEUED);
+        when(jobRepository.save(any(Job.class))).thenReturn(job);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(jobRepository.claim(eq(1L), any())).thenReturn(1);
+
+        JobDto submitted = jobService.submit(JobType.REMOVE_ALL, new RemoveAllJobHandler.Parameters(7));
+
+        assertThat(submitted.id()).isEqualTo(1L);
+        verify(jobRepository, timeout(5_000)).finish(eq(1L), eq(JobStatus.SUCCEEDED), eq("21"), isNull(), any());
+        verify(jobRepository, atLeastOnce()).updateProgress(eq(1L), eq(30L), eq(30L), eq(21L), any());
+    }
+
+    @Test
+    @DisplayName("Cancel request stops a running job at its next checkpoint test")
+    public void cancelledJobStopsTest() {
+
+        Job job = job(2L, JobStatus.QUEUED);
+        when(jobRepository.save(any(Job.class))).thenReturn(job);
+        when(jobRepository.findById(2L)).thenReturn(Optional.of(job));
+        when(jobRepository.claim(eq(2L), any())).thenReturn(1);
+        when(jobRepository.isCancelRequested(2L)).thenReturn(true);
+
+        jobService.submit(JobType.REMOVE_ALL, new RemoveAllJobHandler.Parameters(7));
+
+        verify(jobRepository, timeout(5_000)).finish(eq(2L), eq(JobStatus.CANCELLED), isNull(), any(), any());
+        verify(jobRepository, atLeastOnce()).updateProgress(eq(2L), eq(30L), eq(10L), eq(7L), any());
+        verify(jobRepository, never()).finish(eq(2L), eq(JobStatus.SUCCEEDED), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Restart requeues restartable jobs and fails the others test")
+    public void recoverAfterRestartTest() {
+
+        Job removal = job(3L, JobStatus.RUNNING);
+        Job fill = job(4L, JobStatus.RUNNING);
+        fill.setType(JobType.FILL);
+        when(jobRepository.findByStatusInOrderById(any())).thenReturn(List.of(removal, fill));
+        lenient().when(jobRepository.claim(anyLong(), any())).thenReturn(0);
+
+        jobService.recover();
+
+        verify(jobRepository).requeue(eq(3L), any());
+        verify(jobRepository, timeout(5_000)).claim(eq(3L), any());
+        verify(jobRepository).finish(eq(4L), eq(JobStatus.FAILED), isNull(), any(), any());
+        verify(jobRepository, never()).requeue(eq(4L), any());
+    }
+
+    @Test
+    @DisplayName("Full queue rejects the job test")
+    public void fullQueueRejectsTest() {
+
+        // one worker and one queue slot: the first job blocks the worker, the second takes the slot
+        CountDownLatch release = new CountDownLatch(1);
+        Job running = job(6L, JobStatus.QUEUED);
+        Job queued = job(7L, JobStatus.QUEUED);
+        Job rejected = job(8L, JobStatus.QUEUED);
+        when(jobRepository.save(any(Job.class))).thenReturn(running, queued, rejected);
+        when(jobRepository.findById(anyLong())).thenAnswer(invocation ->
+                Optional.of(job(invocation.getArgument(0), JobStatus.QUEUED)));
+        when(jobRepository.claim(eq(6L), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 0;
+        });
+        lenient().when(jobRepository.claim(eq(7L), any())).thenReturn(0);
+
+        jobService.submit(JobType.REMOVE_ALL, new RemoveAllJobHandler.Parameters(7));
+        verify(jobRepository, timeout(5_000)).claim(eq(6L), any());
+        jobService.submit(JobType.REMOVE_ALL, new RemoveAllJobHandler.Parameters(7));
+
+        assertThatThrownBy(() -> jobService.submit(JobType.REMOVE_ALL, new RemoveAllJobHandler.Parameters(7)))
+                .isInstanceOf(JobRejectedException.class)
+                .extracting(e -> ((JobRejectedException) e).getJob().id())
+                .isEqualTo(8L);
+        verify(jobRepository).finish(eq(8L), eq(JobStatus.FAILED), isNull(), any(), any());
+        verify(jobRepository, never()).finish(eq(7L), any(), any(), any(), any());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Progress, rate and estimate of a running job test")
+    public void runningJobProgressTest() {
+
+        LocalDateTime startedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        Job job = job(5L, JobStatus.RUNNING);
+        job.setStartedAt(startedAt);
+        job.setTotalUnits(1_000);
+        job.setDoneUnits(250);
+        job.setProcessedRows(5_000);
+
+        JobDto dto = JobDto.of(job, null, startedAt.plusSeconds(10));
+
+        assertThat(dto.progressPercent()).isEqualTo(25.0);
+        assertThat(dto.rowsPerSecond()).isEqualTo(500.0);
+        assertThat(dto.etaSeconds()).isEqualTo(30L);
+    }
+
+    private static Job job(Long id, JobStatus status) {
+        return Job.builder()
+                .id(id)
+                .type(JobType.REMOVE_ALL)
+                .status(status)
+                .parameters("{\"chunkSize\":7}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
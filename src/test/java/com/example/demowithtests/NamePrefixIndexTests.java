@@ -0,0 +1,65 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.dto.EmployeeNameDto;
+import com.example.demowithtests.service.autocomplete.NamePrefixIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Name Prefix Index Tests")
+public class NamePrefixIndexTests {
+
+    private NamePrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NamePrefixIndex();
+        index.rebuild(rows -> {
+            rows.accept(1, "Mark");
+            rows.accept(2, "Martin");
+            rows.accept(3, "Anna");
+            rows.accept(4, "Mark");
+        });
+    }
+
+    @Test
+    @DisplayName("Find by prefix ignores case and orders by name and id test")
+    public void findByPrefixTest() {
+
+        assertThat(index.find("mar", 10)).containsExactly(
+                new EmployeeNameDto(1, "Mark"),
+                new EmployeeNameDto(4, "Mark"),
+                new EmployeeNameDto(2, "Martin"));
+        assertThat(index.find("MAR", 2)).hasSize(2);
+        assertThat(index.find("x", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Writes after the build are visible test")
+    public void writesAfterBuildTest() {
+
+        index.put(5, "Marta");
+        index.put(1, "Bob");
+        index.remove(2);
+
+        assertThat(index.find("mar", 10)).containsExactly(
+                new EmployeeNameDto(4, "Mark"),
+                new EmployeeNameDto(5, "Marta"));
+        assertThat(index.find("b", 10)).containsExactly(new EmployeeNameDto(1, "Bob"));
+    }
+
+    @Test
+    @DisplayName("Writes during a rebuild survive the rebuild test")
+    public void writesDuringRebuildTest() {
+
+        index.rebuild(rows -> {
+            rows.accept(1, "Mark");
+            // written concurrently with the table read, after this row was read
+            index.put(1, "Oleg");
+        });
+
+        assertThat(index.find("", 10)).containsExactly(new EmployeeNameDto(1, "Oleg"));
+    }
+}
@@ -1,28 +1,61 @@
 package com.example.demowithtests;
 
 import com.example.demowithtests.domain.Address;
+import com.example.demowithtests.domain.Document;
 import com.example.demowithtests.domain.Employee;
 import com.example.demowithtests.domain.Gender;
+import com.example.demowithtests.domain.History;
+import com.example.demowithtests.dto.AddressRowDto;
+import com.example.demowithtests.dto.CountryCountDto;
+import com.example.demowithtests.dto.EmployeeRowDto;
+import com.example.demowithtests.repository.EmployeeKeysetRepository.SortKey;
+import com.example.demowithtests.repository.EmployeeMatchRepository.MatchField;
+import com.example.demowithtests.repository.EmployeeMatchRepository.TextMatch;
 import com.example.demowithtests.repository.EmployeeRepository;
+import com.example.demowithtests.repository.HistoryRepository;
+import com.example.demowithtests.service.history.HistoryServiceBean;
+import com.example.demowithtests.util.sql.SqlStatementConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.Rollback;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(SqlStatementConfig.class)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @DisplayName("Employee Repository Tests")
 public class RepositoryTests {
 
     @Autowired
     private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Employee employee;
 
     @BeforeEach
@@ -154,4 +187,187 @@ public class RepositoryTests {
         Assertions.assertThat(employeeNull).isNull();
     }
 
+    @Test
+    @Order(9)
+    @DisplayName("Keyset paging visits every employee once test")
+    public void findPageAfterTest() {
+
+        for (String name : List.of("Anna", "Bob", "Anna", "Carl", "Dora")) {
+            employeeRepository.save(Employee.builder().name(name).country("Poland").gender(Gender.F).build());
+        }
+
+        List<Integer> visited = new ArrayList<>();
+        String lastKey = null;
+        Integer lastId = null;
+        List<Employee> page;
+        do {
+            page = employeeRepository.findPageAfter("ola", SortKey.NAME, false, lastKey, lastId, 2);
+            for (Employee e : page) {
+                visited.add(e.getId());
+                lastKey = SortKey.NAME.valueOf(e);
+                lastId = e.getId();
+            }
+        } while (page.size() == 2);
+
+        Assertions.assertThat(visited).hasSize(5).doesNotHaveDuplicates();
+        Assertions.assertThat(employeeRepository.findAllById(visited))
+                .extracting(Employee::getName)
+                .containsOnly("Anna", "Bob", "Carl", "Dora");
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Count employees per country prefix test")
+    public void countByCountryStartingWithTest() {
+
+        for (String country : List.of("Ukraine", "Uganda", "Ukraine", "Poland")) {
+            employeeRepository.save(Employee.builder().name("Facet").country(country).gender(Gender.M).build());
+        }
+
+        var facets = employeeRepository.countByCountryStartingWith("U");
+
+        Assertions.assertThat(facets).containsExactly(
+                new CountryCountDto("Uganda", 1),
+                new CountryCountDto("Ukraine", 2));
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Find first matching email fetches a single row test")
+    public void findFirstValueMatchingTest() {
+
+        for (String email : List.of("first@mail.com", "second@mail.org", "third@mail.com", "fourth@mail.com")) {
+            employeeRepository.save(Employee.builder().name("Match").email(email).gender(Gender.F).build());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        var email = employeeRepository.findFirstValueMatching(MatchField.EMAIL, TextMatch.SUFFIX, ".com");
+
+        long fetchedRows = Arrays.stream(statistics.getQueries())
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionRowCount())
+                .sum();
+        Assertions.assertThat(email).contains("first@mail.com");
+        Assertions.assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        Assertions.assertThat(fetchedRows).isEqualTo(1);
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Find employees by name suffix ignoring case test")
+    public void findByNameEndingWithIgnoringCaseTest() {
+
+        employeeRepository.save(Employee.builder().name("Kristin").gender(Gender.F).build());
+        employeeRepository.save(Employee.builder().name("Tina").gender(Gender.F).build());
+
+        var employees = employeeRepository.findByNameEndingWith("TIN");
+
+        Assertions.assertThat(employees).extracting(Employee::getName).containsExactly("Kristin");
+        Assertions.assertThat(employees.get(0).getNameReversed()).isEqualTo("nitsirk");
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Name projection issues a single statement test")
+    public void findNamesStartingWithStatementBudgetTest() {
+
+        employeeRepository.saveAllAndFlush(List.of(
+                Employee.builder().name("Budget One").gender(Gender.M)
+                        .addresses(new HashSet<>(Set.of(Address.builder().country("UA").build()))).build(),
+                Employee.builder().name("Budget Two").gender(Gender.F)
+                        .addresses(new HashSet<>(Set.of(Address.builder().country("PL").build()))).build(),
+                Employee.builder().name("Budget Three").gender(Gender.M)
+                        .addresses(new HashSet<>(Set.of(Address.builder().country("UK").build()))).build()));
+
+        var stats = SqlStatementBudget.record(() ->
+                Assertions.assertThat(employeeRepository.findNamesStartingWith("budget", PageRequest.of(0, 10)))
+                        .hasSize(3));
+
+        Assertions.assertThat(stats.statements()).isEqualTo(1);
+        Assertions.assertThat(stats.rows()).isEqualTo(3);
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("List rows and their addresses take two statements test")
+    public void findRowsWithAddressRowsTest() {
+
+        employeeRepository.saveAllAndFlush(List.of(
+                Employee.builder().name("Row One").country("Ukraine").gender(Gender.M)
+                        .addresses(new HashSet<>(Set.of(Address.builder().country("UA").city("Kyiv").build(),
+                                Address.builder().country("UA").city("Lviv").build()))).build(),
+                Employee.builder().name("Row Two").country("Poland").gender(Gender.F)
+                        .addresses(new HashSet<>(Set.of(Address.builder().country("PL").build()))).build(),
+                Employee.builder().name("Row Three").country("Ukraine").gender(Gender.M).build()));
+        entityManager.clear();
+
+        List<AddressRowDto> addresses = new ArrayList<>();
+        var stats = SqlStatementBudget.record(() -> {
+            var rows = employeeRepository.findRowsByNameLike(TextMatch.PREFIX.toPattern("Row "));
+            Assertions.assertThat(rows).extracting(EmployeeRowDto::name).containsExactly("Row One", "Row Two", "Row Three");
+            addresses.addAll(employeeRepository.findAddressRows(rows.stream().map(EmployeeRowDto::id).toList()));
+        });
+
+        Assertions.assertThat(stats.statements()).isEqualTo(2);
+        Assertions.assertThat(addresses).extracting(AddressRowDto::country).containsOnly("UA", "PL").hasSize(3);
+        Assertions.assertThat(employeeRepository.findByName("Row Two").getAddresses())
+                .matches(loaded -> !Hibernate.isInitialized(loaded), "lazily loaded");
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Find by id skips deleted employees test")
+    public void findByIdAndNotDeletedTest() {
+
+        var active = employeeRepository.save(Employee.builder().name("Active").isDeleted(false).gender(Gender.M).build());
+        var deleted = employeeRepository.save(Employee.builder().name("Deleted").isDeleted(true).gender(Gender.M).build());
+        var unknown = employeeRepository.save(Employee.builder().name("Unknown").gender(Gender.M).build());
+
+        Assertions.assertThat(employeeRepository.findByIdAndNotDeleted(active.getId())).contains(active);
+        Assertions.assertThat(employeeRepository.findByIdAndNotDeleted(deleted.getId())).isEmpty();
+        Assertions.assertThat(employeeRepository.findByIdAndNotDeleted(unknown.getId())).isEmpty();
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Mailing recipients skip employees without an email test")
+    public void findMailableRowsByCountryTest() {
+
+        for (String email : Arrays.asList("mail1@mail.com", null, " ", "mail2@mail.com")) {
+            employeeRepository.save(Employee.builder().name("Mail").country("Mailland").email(email).gender(Gender.F).build());
+        }
+
+        Assertions.assertThat(employeeRepository.findMailableRowsByCountry("Mailland"))
+                .extracting(EmployeeRowDto::email)
+                .containsExactly("mail1@mail.com", "mail2@mail.com");
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("History keyset pages visit every record once, newest first test")
+    public void historyKeysetPagingTest() {
+
+        var document = entityManager.persist(Document.builder().number("HIST-1").build());
+        var other = entityManager.persist(Document.builder().number("HIST-2").build());
+        var time = LocalDateTime.of(2024, 5, 1, 12, 0);
+        historyRepository.saveAllAndFlush(List.of(
+                History.builder().description("first").dateAndTime(time).document(document).build(),
+                History.builder().description("second").dateAndTime(time.plusDays(1)).document(document).build(),
+                History.builder().description("third").dateAndTime(time.plusDays(1)).document(document).build(),
+                History.builder().description("fourth").dateAndTime(time.plusMonths(1)).document(document).build(),
+                History.builder().description("fifth").dateAndTime(time.plusMonths(2)).document(document).build(),
+                History.builder().description("other").dateAndTime(time).document(other).build()));
+        var historyService = new HistoryServiceBean(historyRepository, null, false);
+
+        List<String> descriptions = new ArrayList<>();
+        String token = null;
+        do {
+            var page = historyService.findPage(document.getId(), token, 2);
+            page.content().forEach(record -> descriptions.add(record.description()));
+            token = page.nextToken();
+        } while (token != null);
+
+        Assertions.assertThat(descriptions).containsExactly("fifth", "fourth", "third", "second", "first");
+    }
 }
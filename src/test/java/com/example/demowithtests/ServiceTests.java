@@ -2,25 +2,48 @@ package com.example.demowithtests;
 
 import com.example.demowithtests.domain.Employee;
 import com.example.demowithtests.domain.Gender;
+import com.example.demowithtests.dto.EmailCampaignDto;
+import com.example.demowithtests.dto.EmailMessageDto;
+import com.example.demowithtests.dto.EmployeeFilterDto;
+import com.example.demowithtests.dto.EmployeeRowDto;
+import com.example.demowithtests.dto.TotalCountDto;
 import com.example.demowithtests.repository.EmployeeRepository;
 import com.example.demowithtests.service.EmployeeServiceBean;
+import com.example.demowithtests.service.autocomplete.NameAutocompleteService;
+import com.example.demowithtests.service.cache.EmployeeReadCache;
+import com.example.demowithtests.service.count.CountStrategy;
+import com.example.demowithtests.service.count.EmployeeCountService;
+import com.example.demowithtests.service.job.JobContext;
+import com.example.demowithtests.service.outbox.EmailOutboxService;
 import com.example.demowithtests.util.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +53,18 @@ public class ServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeCountService employeeCountService;
+
+    @Mock
+    private NameAutocompleteService nameAutocompleteService;
+
+    @Mock
+    private EmployeeReadCache employeeReadCache;
+
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
     @InjectMocks
     private EmployeeServiceBean service;
 
@@ -108,4 +143,131 @@ public class ServiceTests {
         service.removeByIdCompletely(employee.getId());
         verify(employeeRepository).delete(employee);
     }
+
+    @Test
+    @DisplayName("Remove all employees in id chunks test")
+    public void removeAllInChunksTest() {
+
+        when(employeeRepository.findMinNotDeletedId()).thenReturn(1);
+        when(employeeRepository.findMaxNotDeletedId()).thenReturn(25_000);
+        when(employeeRepository.softDeleteByIdRange(anyInt(), anyInt())).thenReturn(10);
+
+        assertThat(service.removeAll(10_000)).isEqualTo(30);
+        verify(employeeRepository).softDeleteByIdRange(1, 10_000);
+        verify(employeeRepository).softDeleteByIdRange(10_001, 20_000);
+        verify(employeeRepository).softDeleteByIdRange(20_001, 25_000);
+    }
+
+    @Test
+    @DisplayName("Cancelled removal stops between id chunks test")
+    public void removeAllCancelledBetweenChunksTest() {
+
+        when(employeeRepository.findMinNotDeletedId()).thenReturn(1);
+        when(employeeRepository.findMaxNotDeletedId()).thenReturn(25_000);
+        when(employeeRepository.softDeleteByIdRange(anyInt(), anyInt())).thenReturn(10);
+        var context = new JobContext() {
+            long total;
+            long done;
+
+            @Override
+            public void total(long units) {
+                total = units;
+            }
+
+            @Override
+            public void advance(long units, long rows) {
+                done += units;
+                // cancelled while the first window was written
+                throw new CancellationException();
+            }
+        };
+
+        assertThrows(CancellationException.class, () -> service.removeAll(10_000, context));
+        assertThat(context.total).isEqualTo(25_000);
+        assertThat(context.done).isEqualTo(10_000);
+        verify(employeeRepository, times(1)).softDeleteByIdRange(anyInt(), anyInt());
+        verify(employeeReadCache).evictAll();
+    }
+
+    @Test
+    @DisplayName("Rename with an id range outside the table does nothing test")
+    public void updateAllNamesOutsideIdRangeTest() {
+
+        var filter = new EmployeeFilterDto("UK", null, 100, 200);
+        when(employeeRepository.findMinId("UK", null)).thenReturn(1);
+        when(employeeRepository.findMaxId("UK", null)).thenReturn(12);
+        JobContext context = mock(JobContext.class);
+
+        assertThat(service.updateAllNames("Bob", filter, 5, context)).isZero();
+        verifyNoInteractions(context);
+        verify(employeeRepository, never()).updateNames(any(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Rename employees in id chunks test")
+    public void updateAllNamesInChunksTest() {
+
+        var filter = new EmployeeFilterDto("UK", null, 5, null);
+        when(employeeRepository.findMinId("UK", null)).thenReturn(1);
+        when(employeeRepository.findMaxId("UK", null)).thenReturn(12);
+        when(employeeRepository.updateNames(eq("Bob"), eq("bob"), eq("UK"), isNull(), anyInt(), anyInt())).thenReturn(2);
+
+        assertThat(service.updateAllNames("Bob", filter, 5)).isEqualTo(4);
+        verify(employeeRepository).updateNames("Bob", "bob", "UK", null, 5, 9);
+        verify(employeeRepository).updateNames("Bob", "bob", "UK", null, 10, 12);
+    }
+
+    @Test
+    @DisplayName("Soft delete of a missing employee test")
+    public void removeMissingEmployeeTest() {
+
+        when(employeeRepository.softDeleteById(employee.getId())).thenReturn(0);
+        assertThrows(EntityNotFoundException.class, () -> service.removeById(employee.getId()));
+    }
+
+    @Test
+    @DisplayName("Page with cached total skips the count query test")
+    public void getPageWithCachedCountTest() {
+
+        var pageable = PageRequest.of(1, 2);
+        when(employeeRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(employee), pageable, false));
+        when(employeeCountService.countAll(CountStrategy.CACHED)).thenReturn(new TotalCountDto(3, CountStrategy.CACHED));
+
+        var result = service.getAllWithPagination(pageable, CountStrategy.CACHED);
+
+        assertThat(result.countStrategy()).isEqualTo(CountStrategy.CACHED);
+        assertThat(result.page().getTotalElements()).isEqualTo(3);
+        assertThat(result.page().getContent()).containsExactly(employee);
+        verify(employeeRepository, never()).findAll(pageable);
+    }
+
+    @Test
+    @DisplayName("Ukrainian mailing is queued as a campaign test")
+    public void sendEmailsAllUkrainianQueuesCampaignTest() {
+
+        when(employeeRepository.findMailableRowsByCountry("Ukraine"))
+                .thenReturn(List.of(new EmployeeRowDto(7, "Olha", "Ukraine", "olha@mail.com", Gender.F)));
+        when(emailOutboxService.createCampaign(ArgumentMatchers.anyString(), ArgumentMatchers.anyList()))
+                .thenReturn(new EmailCampaignDto(1L, "ukrainians-information-update", 1, 1, 0, 0));
+
+        assertThat(service.sendEmailsAllUkrainian().id()).isEqualTo(1L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmailMessageDto>> messages = ArgumentCaptor.forClass(List.class);
+        verify(emailOutboxService).createCampaign(eq("ukrainians-information-update"), messages.capture());
+        assertThat(messages.getValue()).singleElement().satisfies(message -> {
+            assertThat(message.employeeId()).isEqualTo(7);
+            assertThat(message.recipient()).isEqualTo("olha@mail.com");
+            assertThat(message.body()).startsWith("Dear Olha!");
+        });
+    }
+
+    @Test
+    @DisplayName("Ukrainian mailing without recipients test")
+    public void sendEmailsAllUkrainianWithoutRecipientsTest() {
+
+        when(employeeRepository.findMailableRowsByCountry("Ukraine")).thenReturn(List.of());
+        assertThrows(EntityNotFoundException.class, () -> service.sendEmailsAllUkrainian());
+        verify(emailOutboxService, never()).createCampaign(ArgumentMatchers.anyString(), ArgumentMatchers.anyList());
+    }
 }
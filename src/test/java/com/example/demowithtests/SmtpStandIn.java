@@ -0,0 +1,157 @@
+package com.example.demowithtests;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal embedded SMTP server for mail tests: accepts plain SMTP on a free loopback port, keeps the received
+ * messages in memory and counts connections. No STARTTLS and no AUTH, so the sender under test must disable both.
+ * The greeting delay stands in for the TLS and AUTH round trips of a real server.
+ */
+public final class SmtpStandIn implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final long greetingDelayMillis;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+
+    public SmtpStandIn(long greetingDelayMillis) {
+        this.greetingDelayMillis = greetingDelayMillis;
+        try {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        executor.execute(this::acceptLoop);
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int connections() {
+        return connections.get();
+    }
+
+    /**
+     * @return raw DATA of every accepted message, headers included
+     */
+    public List<String> messages() {
+        return messages;
+    }
+
+    /**
+     * Answers RCPT TO for this address with 550.
+     */
+    public void reject(String recipient) {
+        rejectedRecipients.add(recipient.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                executor.execute(() -> session(socket));
+            } catch (SocketException closed) {
+                return;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = socket.getOutputStream()) {
+            if (greetingDelayMillis > 0) {
+                TimeUnit.MILLISECONDS.sleep(greetingDelayMillis);
+            }
+            reply(out, "220 localhost SMTP stand-in");
+            boolean accepted = false;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() < 4 ? line.toUpperCase(Locale.ROOT)
+                        : line.substring(0, 4).toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+                    case "HELO", "NOOP" -> reply(out, "250 OK");
+                    case "MAIL" -> {
+                        accepted = false;
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        String recipient = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>'));
+                        if (rejectedRecipients.contains(recipient.toLowerCase(Locale.ROOT))) {
+                            reply(out, "550 mailbox unavailable");
+                        } else {
+                            accepted = true;
+                            reply(out, "250 OK");
+                        }
+                    }
+                    case "RSET" -> {
+                        accepted = false;
+                        reply(out, "250 OK");
+                    }
+                    case "DATA" -> {
+                        if (!accepted) {
+                            reply(out, "554 no valid recipients");
+                            continue;
+                        }
+                        reply(out, "354 end data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder();
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            data.append(line.startsWith("..") ? line.substring(1) : line).append('\n');
+                        }
+                        messages.add(data.toString());
+                        accepted = false;
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 bye");
+                        return;
+                    }
+                    default -> reply(out, "502 command not implemented");
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // client went away or the stand-in is closing
+        }
+    }
+
+    private static void reply(OutputStream out, String reply) throws IOException {
+        out.write((reply + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.domain.Address;
+import com.example.demowithtests.domain.Employee;
+import com.example.demowithtests.domain.Gender;
+import com.example.demowithtests.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the list endpoints over H2 with data. Every page holds more employees than the budget
+ * allows statements, so loading addresses per employee fails the test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("SQL Statement Budget Tests")
+public class SqlBudgetTests {
+
+    private static final int EMPLOYEES = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Address home = Address.builder().country("Budget").city("City " + i).street("Street " + i).build();
+            Address work = Address.builder().country("Budget").city("City " + i).street("Office " + i).build();
+            employees.add(Employee.builder()
+                    .name("Budget")
+                    .email("budget" + i + "@mail.com")
+                    .country("Budget")
+                    .gender(Gender.M)
+                    .addresses(Set.of(home, work))
+                    .build());
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll(employeeRepository.findEmployeesByCountry("Budget"));
+    }
+
+    @Test
+    @DisplayName("GET API -> /api/users/countryBy loads addresses in one query")
+    @WithMockUser(roles = "ADMIN")
+    public void countryListBudgetTest() throws Exception {
+
+        mockMvc.perform(get("/api/users/countryBy").param("country", "Budget"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(EMPLOYEES))
+                .andExpect(jsonPath("$[0].addresses.length()").value(2))
+                .andExpect(SqlStatementBudget.atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET API -> /api/users loads addresses in one query")
+    @WithMockUser(roles = "ADMIN")
+    public void allUsersBudgetTest() throws Exception {
+
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET API -> /api/users/pages stays within its budget")
+    @WithMockUser(roles = "ADMIN")
+    public void pageBudgetTest() throws Exception {
+
+        mockMvc.perform(get("/api/users/pages").param("size", String.valueOf(EMPLOYEES)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(EMPLOYEES))
+                .andExpect(SqlStatementBudget.atMost(3));
+    }
+}
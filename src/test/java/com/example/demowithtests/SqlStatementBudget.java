@@ -0,0 +1,59 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.util.sql.SqlStatementHeaderAdvice;
+import com.example.demowithtests.util.sql.SqlStatementRecorder;
+import com.example.demowithtests.util.sql.SqlStatementStats;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets for tests, so an N+1 regression fails the build. Repository tests need
+ * {@code @Import(SqlStatementConfig.class)} for the data source to be recorded; MockMvc tests read the
+ * headers written for every request.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static SqlStatementStats record(Runnable action) {
+        SqlStatementRecorder.start();
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            SqlStatementRecorder.stop();
+            throw e;
+        }
+        return SqlStatementRecorder.stop();
+    }
+
+    /**
+     * Runs the action and fails when it issues more than {@code statements} statements.
+     */
+    public static <T> T assertAtMost(long statements, Supplier<T> action) {
+        SqlStatementRecorder.start();
+        T result;
+        SqlStatementStats stats;
+        try {
+            result = action.get();
+        } finally {
+            stats = SqlStatementRecorder.stop();
+        }
+        assertThat(stats.statements()).as("SQL statements, %s", stats).isLessThanOrEqualTo(statements);
+        return result;
+    }
+
+    /**
+     * @return matcher failing when the request issued more than {@code statements} statements
+     */
+    public static ResultMatcher atMost(long statements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementHeaderAdvice.STATEMENTS_HEADER);
+            assertThat(header).as(SqlStatementHeaderAdvice.STATEMENTS_HEADER + " header").isNotNull();
+            assertThat(Long.parseLong(header)).as("SQL statements of the request").isLessThanOrEqualTo(statements);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.service.search.EmployeeSearchServiceBean;
+import com.example.demowithtests.service.search.TrigramSimilarity;
+import com.example.demowithtests.util.DatabasePlatform;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Trigram Similarity Tests")
+public class TrigramSimilarityTests {
+
+    @Test
+    @DisplayName("Similarity matches pg_trgm test")
+    public void similarityMatchesPgTrgmTest() {
+
+        // SELECT similarity('word', 'two words') returns 0.36363637 in PostgreSQL
+        assertThat(TrigramSimilarity.similarity("word", "two words")).isCloseTo(4.0 / 11, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Similarity ignores case and punctuation test")
+    public void similarityIgnoresCaseAndPunctuationTest() {
+
+        assertThat(TrigramSimilarity.similarity("Ukraine", "ukraine!")).isEqualTo(1.0);
+        assertThat(TrigramSimilarity.similarity("Ukraine", "Uruguay")).isLessThan(0.3);
+        assertThat(TrigramSimilarity.similarity(null, "Ukraine")).isZero();
+    }
+
+    @Test
+    @DisplayName("Scan fallback answers a very deep page without overflowing test")
+    public void scanDeepPageTest() {
+
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+            jdbcTemplate.execute("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(255), country VARCHAR(255), "
+                    + "email VARCHAR(255), is_deleted BOOLEAN)");
+            jdbcTemplate.update("INSERT INTO users VALUES (1, 'Olha', 'Ukraine', 'olha@mail.com', false), "
+                    + "(2, 'Mark', 'England', 'mark@mail.com', false)");
+            var search = new EmployeeSearchServiceBean(database, new DataSourceTransactionManager(database),
+                    new DatabasePlatform(database));
+
+            assertThat(search.search("Ukraine", 0.3, 0, 10).hits()).singleElement()
+                    .satisfies(hit -> assertThat(hit.id()).isEqualTo(1));
+            // page * size is far beyond Integer.MAX_VALUE
+            assertThat(search.search("Ukraine", 0.3, Integer.MAX_VALUE / 2, 100).hits()).isEmpty();
+        } finally {
+            database.shutdown();
+        }
+    }
+}
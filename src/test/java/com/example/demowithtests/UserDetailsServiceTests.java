@@ -0,0 +1,80 @@
+package com.example.demowithtests;
+
+import com.example.demowithtests.domain.Role;
+import com.example.demowithtests.domain.User;
+import com.example.demowithtests.service.user.UserDetailsServiceBean;
+import com.example.demowithtests.service.user.UserService;
+import com.example.demowithtests.util.DatabasePlatform;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Details Service Tests")
+public class UserDetailsServiceTests {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private UserDetailsServiceBean userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new UserDetailsServiceBean(userService, dataSource, databasePlatform, meterRegistry,
+                100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Cached user keeps its password after credentials are erased test")
+    public void cachedUserTest() {
+
+        when(userService.findByName("admin"))
+                .thenReturn(Optional.of(User.builder().id(1).name("admin").password("{noop}secret").role(Role.ADMIN).build()));
+
+        var first = userDetailsService.loadUserByUsername("admin");
+        ((CredentialsContainer) first).eraseCredentials();
+        var second = userDetailsService.loadUserByUsername("admin");
+
+        assertThat(second.getPassword()).isEqualTo("{noop}secret");
+        assertThat(second.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        verify(userService, times(1)).findByName("admin");
+    }
+
+    @Test
+    @DisplayName("Unknown user is looked up again test")
+    public void unknownUserTest() {
+
+        when(userService.findByName("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+
+        verify(userService, times(2)).findByName("ghost");
+    }
+}